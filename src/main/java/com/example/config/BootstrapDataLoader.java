@@ -32,6 +32,7 @@ public class BootstrapDataLoader {
     public void init() {
         loadUsers();
         loadProducts();
+        backfillNormalizedNames();
     }
 
     private void loadUsers() {
@@ -79,6 +80,13 @@ public class BootstrapDataLoader {
         }
     }
 
+    private void backfillNormalizedNames() {
+        int rows = productRepository.backfillNormalizedNames();
+        if (rows > 0) {
+            log.info("Backfilled normalized names products={}", rows);
+        }
+    }
+
     private record UserSeed(String username, String password, List<String> roles) {
 
     }
@@ -2,6 +2,7 @@ package com.example.config;
 
 import com.example.filter.RequestResponseLoggingFilter;
 import com.example.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +36,9 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
 
+                        // Streaming responses finish on an async dispatch, the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/actuator/**",
@@ -55,6 +59,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/products/**")
                         .hasAuthority("ADMIN")
 
+                        .requestMatchers(HttpMethod.PATCH, "/api/products/**")
+                        .hasAuthority("ADMIN")
+
                         .requestMatchers(HttpMethod.DELETE, "/api/products/**")
                         .hasAuthority("ADMIN")
 
@@ -64,9 +71,18 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/orders")
                         .hasAuthority("ADMIN")
 
+                        .requestMatchers(HttpMethod.GET, "/api/orders/users/**")
+                        .hasAuthority("ADMIN")
+
+                        .requestMatchers(HttpMethod.GET, "/api/orders/*/status")
+                        .hasAnyAuthority("USER", "PREMIUM_USER", "ADMIN")
+
                         .requestMatchers(HttpMethod.GET, "/api/orders/*")
                         .hasAnyAuthority("USER", "PREMIUM_USER", "ADMIN")
 
+                        .requestMatchers("/api/reservations/**")
+                        .hasAnyAuthority("USER", "PREMIUM_USER")
+
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
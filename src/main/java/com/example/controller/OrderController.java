@@ -1,33 +1,66 @@
 package com.example.controller;
 
+import com.example.dto.BatchOrderRequest;
+import com.example.dto.BatchOrderResult;
+import com.example.dto.CursorPage;
+import com.example.dto.OrderQuote;
 import com.example.dto.OrderRequest;
-import com.example.entity.OrderEntity;
+import com.example.dto.OrderResponse;
+import com.example.dto.OrderStatusResponse;
+import com.example.exception.InvalidIdempotencyKeyException;
+import com.example.repository.OrderFilter;
+import com.example.service.IdempotencyService;
+import com.example.service.OrderIntakeService;
 import com.example.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Tag(name = "Order", description = "Order APIs")
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    // Printable ASCII without spaces; 64 characters keep "username:key" within the idempotency_keys column
+    private static final Pattern IDEMPOTENCY_KEY = Pattern.compile("[\\x21-\\x7E]{1,64}");
+
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+            OrderIntakeService orderIntakeService,
+            IdempotencyService idempotencyService,
+            ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderIntakeService = orderIntakeService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Read", description = "Read resource")
@@ -39,14 +72,14 @@ public class OrderController {
     })
 
     @GetMapping("/{id}")
-    public OrderEntity getOrderById(
+    public OrderResponse getOrderById(
             @AuthenticationPrincipal UserDetails userDetails,
             @PathVariable Long id
     ) {
-        return orderService.getOrderById(id);
+        return OrderResponse.from(orderService.getOrderById(id));
     }
 
-    @Operation(summary = "Read", description = "Read resource")
+    @Operation(summary = "Read", description = "Keyset-paginated orders, newest first")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Success"),
             @ApiResponse(responseCode = "400", description = "Bad Request"),
@@ -55,11 +88,17 @@ public class OrderController {
     })
 
     @GetMapping
-    public List<OrderEntity> getAllOrders() {
-        return orderService.getAllOrders();
+    public CursorPage<OrderResponse> getOrders(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return orderService.getOrders(new OrderFilter(userId, from, to), cursor, limit).map(OrderResponse::from);
     }
 
-    @Operation(summary = "Create", description = "Create resource")
+    @Operation(summary = "Read", description = "Order history of the current user, newest first")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Success"),
             @ApiResponse(responseCode = "400", description = "Bad Request"),
@@ -67,11 +106,143 @@ public class OrderController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
 
+    @GetMapping("/mine")
+    public CursorPage<OrderResponse> getMyOrders(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return orderService.getUserOrders(userDetails.getUsername(), cursor, limit).map(OrderResponse::from);
+    }
+
+    @Operation(summary = "Read", description = "Order history of one user, newest first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+
+    @GetMapping("/users/{userId}")
+    public CursorPage<OrderResponse> getUserOrders(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return orderService.getOrders(new OrderFilter(userId, null, null), cursor, limit).map(OrderResponse::from);
+    }
+
+    @Operation(summary = "Read", description = "Stream all matching orders as newline-delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        OrderFilter filter = new OrderFilter(userId, from, to);
+        StreamingResponseBody body = out -> orderService.streamOrders(filter, order -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(OrderResponse.from(order)));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Create", description = "Create resource")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "202", description = "Accepted for async processing"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key still in flight"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request"),
+            @ApiResponse(responseCode = "429", description = "Too Many Requests")
+    })
+
     @PostMapping
-    public OrderEntity placeOrder(
+    public ResponseEntity<?> placeOrder(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody OrderRequest request
     ) {
-        return orderService.placeOrder(userDetails.getUsername(), request.getItems());
+        String username = userDetails.getUsername();
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return submitOrder(username, request);
+        }
+        if (!IDEMPOTENCY_KEY.matcher(idempotencyKey).matches()) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be 1 to 64 printable ASCII characters without spaces");
+        }
+        return idempotencyService.execute(username, idempotencyKey, request, () -> submitOrder(username, request));
+    }
+
+    @Operation(summary = "Create", description = "Place a batch of orders, results are reported per order")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "Conflict")
+    })
+
+    @PostMapping("/batch")
+    public List<BatchOrderResult> placeOrders(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody BatchOrderRequest request
+    ) {
+        return orderService.placeOrders(userDetails.getUsername(), request.getOrders());
+    }
+
+    @Operation(summary = "Read", description = "Price a cart without placing the order or reserving stock")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Not Found")
+    })
+
+    @PostMapping("/quote")
+    public OrderQuote quoteOrder(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody OrderRequest request
+    ) {
+        return orderService.quoteOrder(userDetails.getUsername(), request.getItems());
+    }
+
+    private ResponseEntity<?> submitOrder(String username, OrderRequest request) {
+        if (orderIntakeService.isEnabled()) {
+            OrderStatusResponse accepted = orderIntakeService.submit(username, request.getItems());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/" + accepted.getId() + "/status"))
+                    .body(accepted);
+        }
+        return ResponseEntity.ok(OrderResponse.from(orderService.placeOrder(username, request.getItems())));
+    }
+
+    @Operation(summary = "Read", description = "Read async order intake status")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Not Found")
+    })
+
+    @GetMapping("/{id}/status")
+    public OrderStatusResponse getOrderStatus(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String id
+    ) {
+        return orderIntakeService.getStatus(id, userDetails.getUsername());
     }
 }
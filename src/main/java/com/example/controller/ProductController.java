@@ -1,15 +1,30 @@
 package com.example.controller;
 
+import com.example.dto.CursorPage;
+import com.example.dto.ProductImportReport;
+import com.example.dto.StockSyncRequest;
+import com.example.dto.StockSyncResult;
 import com.example.entity.Product;
+import com.example.repository.ProductFilter;
+import com.example.repository.ProductSort;
+import com.example.service.ProductImportService;
 import com.example.service.ProductService;
+import com.example.service.StockSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -17,17 +32,33 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
 
 @Tag(name = "Product", description = "Product APIs")
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    // Clients may keep responses but must revalidate them, which the ETags make cheap
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final ProductService service;
+    private final ProductImportService importService;
+    private final StockSyncService stockSyncService;
 
-    public ProductController(ProductService service) {this.service = service;}
+    public ProductController(ProductService service, ProductImportService importService,
+            StockSyncService stockSyncService) {
+        this.service = service;
+        this.importService = importService;
+        this.stockSyncService = stockSyncService;
+    }
 
     @Operation(summary = "Read", description = "Read resource")
     @ApiResponses({
@@ -38,13 +69,60 @@ public class ProductController {
     })
 
     @GetMapping
-    public Page<Product> search(@RequestParam(required = false) String name,
+    public ResponseEntity<Page<Product>> search(@RequestParam(required = false) String name,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Boolean available,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return service.search(name, minPrice, maxPrice, available, PageRequest.of(page, size));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        Page<Product> result = service.search(name, minPrice, maxPrice, available, PageRequest.of(page, size));
+        return searchResponse(request, result, result.getContent(),
+                result.getNumber(), result.getSize(), result.getTotalElements());
+    }
+
+    @Operation(summary = "Read", description = "Search without the total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+
+    @GetMapping("/slice")
+    public ResponseEntity<Slice<Product>> searchSlice(@RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        Slice<Product> result = service.searchSlice(name, minPrice, maxPrice, available, PageRequest.of(page, size));
+        return searchResponse(request, result, result.getContent(),
+                result.getNumber(), result.getSize(), result.hasNext());
+    }
+
+    @Operation(summary = "Read", description = "Keyset-paginated search ordered by price or name, then id")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<Product>> scroll(@RequestParam(required = false) String name,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "PRICE") ProductSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        CursorPage<Product> result = service.scroll(
+                new ProductFilter(name, namePrefix, minPrice, maxPrice, available), sort, cursor, limit);
+        return searchResponse(request, result, result.getItems(), result.getNextCursor());
     }
 
     @Operation(summary = "Create", description = "Create resource")
@@ -58,6 +136,30 @@ public class ProductController {
     @PostMapping("/create")
     public Product create(@RequestBody Product p) {return service.create(p);}
 
+    @Operation(summary = "Create", description = "Bulk import from a JSON array or NDJSON, with a per-row report")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ProductImportReport importProducts(InputStream body) {return importService.importProducts(body);}
+
+    @Operation(summary = "Update", description = "Set or adjust stock of many products, without touching other fields")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+
+    @PatchMapping("/stock")
+    public StockSyncResult syncStock(@Valid @RequestBody StockSyncRequest request) {
+        return stockSyncService.sync(request.getAdjustments());
+    }
+
     @Operation(summary = "Read", description = "Read resource")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Success"),
@@ -67,14 +169,23 @@ public class ProductController {
     })
 
     @GetMapping("/{id}")
-    public Product get(@PathVariable Long id) {return service.get(id).orElseThrow();}
+    public ResponseEntity<Product> get(@PathVariable Long id) {
+        Product p = service.get(id).orElseThrow();
+        // A matching If-None-Match or If-Modified-Since turns this into a 304 before the body is written
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(productETag(p))
+                .lastModified(p.getUpdatedAt())
+                .body(p);
+    }
 
     @Operation(summary = "Update", description = "Update resource")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Success"),
             @ApiResponse(responseCode = "400", description = "Bad Request"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "Product changed since the version sent")
     })
 
     @PutMapping("/{id}")
@@ -90,4 +201,40 @@ public class ProductController {
 
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {service.softDelete(id);}
-}
\ No newline at end of file
+
+    /**
+     * Search responses carry a weak ETag hashed from what the body shows: the paging fields and every field of
+     * every product in it. The same result gets the same tag on every instance and after a restart, and a stock
+     * change shows up in the tag as soon as it shows up in the body. The search still runs; a 304 saves the
+     * serialization and the transfer.
+     */
+    private static <T> ResponseEntity<T> searchResponse(WebRequest request, T body, List<Product> products,
+            Object... paging) {
+        StringBuilder content = new StringBuilder(64 + products.size() * 96);
+        for (Object field : paging) {
+            content.append(field).append('|');
+        }
+        for (Product p : products) {
+            content.append('\n').append(p.getId()).append('|').append(p.getVersion())
+                    .append('|').append(p.getUpdatedAt().toEpochMilli()).append('|').append(p.getQuantity())
+                    .append('|').append(p.getName()).append('|').append(p.getDescription())
+                    .append('|').append(p.getPrice()).append('|').append(p.getAvailable());
+        }
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).eTag(etag).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(body);
+    }
+
+    /**
+     * Version and updatedAt move with every write to the row, stock included. The catalog fields come from the
+     * catalog cache rather than the row, so their hash is part of the tag: a response built from an entry that was
+     * not yet invalidated never shares its tag with the current one.
+     */
+    private static String productETag(Product p) {
+        int catalog = Objects.hash(p.getName(), p.getDescription(), p.getPrice(), p.getAvailable());
+        return "\"" + p.getVersion() + "-" + p.getUpdatedAt().toEpochMilli() + "-" + Integer.toHexString(catalog)
+                + "\"";
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.controller;
+
+import com.example.dto.OrderResponse;
+import com.example.dto.ReservationRequest;
+import com.example.dto.ReservationResponse;
+import com.example.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@Tag(name = "Reservation", description = "Timed stock hold APIs")
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @Operation(summary = "Create", description = "Hold stock for a checkout until the reservation expires")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Created"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+
+    @PostMapping
+    public ResponseEntity<ReservationResponse> hold(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody ReservationRequest request
+    ) {
+        ReservationResponse held = ReservationResponse.from(
+                reservationService.hold(userDetails.getUsername(), request.getItems()));
+        return ResponseEntity.created(URI.create("/api/reservations/" + held.getId())).body(held);
+    }
+
+    @Operation(summary = "Read", description = "Read a stock hold")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Not Found")
+    })
+
+    @GetMapping("/{id}")
+    public ReservationResponse getReservation(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id
+    ) {
+        return ReservationResponse.from(reservationService.getReservation(id, userDetails.getUsername()));
+    }
+
+    @Operation(summary = "Create", description = "Place the order for a stock hold")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Not Found"),
+            @ApiResponse(responseCode = "409", description = "Hold already confirmed, released or expired")
+    })
+
+    @PostMapping("/{id}/confirm")
+    public OrderResponse confirm(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id
+    ) {
+        return OrderResponse.from(reservationService.confirm(id, userDetails.getUsername()));
+    }
+
+    @Operation(summary = "Delete", description = "Release a stock hold")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Not Found"),
+            @ApiResponse(responseCode = "409", description = "Hold already confirmed, released or expired")
+    })
+
+    @DeleteMapping("/{id}")
+    public ReservationResponse release(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id
+    ) {
+        return ReservationResponse.from(reservationService.release(id, userDetails.getUsername()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchOrderRequest {
+
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<OrderRequest> orders;
+}
@@ -0,0 +1,32 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one order of a batch, {@code index} is its position in the request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResult {
+
+    private int index;
+    private OrderStatus status;
+    private Long orderId;
+    private BigDecimal orderTotal;
+    private String message;
+
+    public static BatchOrderResult placed(int index, Long orderId, BigDecimal orderTotal) {
+        return new BatchOrderResult(index, OrderStatus.CONFIRMED, orderId, orderTotal, null);
+    }
+
+    public static BatchOrderResult rejected(int index, String message) {
+        return new BatchOrderResult(index, OrderStatus.REJECTED, null, null, message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.dto;
+
+import com.example.entity.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemResponse {
+
+    private Long id;
+    private Long productId;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal discountApplied;
+    private BigDecimal totalPrice;
+
+    public static OrderItemResponse from(OrderItem item) {
+        return new OrderItemResponse(item.getId(), item.getProductId(), item.getQuantity(),
+                item.getUnitPrice(), item.getDiscountApplied(), item.getTotalPrice());
+    }
+}
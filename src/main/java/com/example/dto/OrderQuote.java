@@ -0,0 +1,32 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Price of a cart as {@code placeOrder} would charge it right now. Quotes are cached and shared between requests,
+ * so they have no setters.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderQuote {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Line {
+
+        private final Long productId;
+        private final int quantity;
+        private final BigDecimal unitPrice;
+        private final BigDecimal discountApplied;
+        private final BigDecimal totalPrice;
+    }
+
+    private final BigDecimal subtotal;
+    private final BigDecimal discount;
+    private final BigDecimal orderTotal;
+    private final List<Line> items;
+}
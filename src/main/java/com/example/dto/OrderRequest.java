@@ -1,6 +1,9 @@
 package com.example.dto;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,8 +26,11 @@ public class OrderRequest {
 
         @NotNull
         @Min(1)
+        @Max(1_000_000)
         private Integer quantity;
     }
 
+    @NotEmpty
+    @Valid
     private List<Item> items;
 }
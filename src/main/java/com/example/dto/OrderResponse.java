@@ -0,0 +1,32 @@
+package com.example.dto;
+
+import com.example.entity.OrderEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read model of an order. Built from an entity whose items were fetched with it, never from a lazy proxy.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderResponse {
+
+    private Long id;
+    private Long userId;
+    private BigDecimal orderTotal;
+    private Instant createdAt;
+    private List<OrderItemResponse> items;
+
+    public static OrderResponse from(OrderEntity order) {
+        return new OrderResponse(order.getId(), order.getUserId(), order.getOrderTotal(), order.getCreatedAt(),
+                order.getItems().stream().map(OrderItemResponse::from).toList());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.dto;
+
+public enum OrderStatus {
+    PENDING,
+    CONFIRMED,
+    REJECTED
+}
@@ -0,0 +1,24 @@
+package com.example.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import. {@code errors} lists rejected rows up to the configured limit, {@code rejected}
+ * counts all of them. {@code completed} is false when the upload stopped being readable JSON; rows before that
+ * point are imported.
+ */
+@Getter
+@Setter
+public class ProductImportReport {
+
+    private int received;
+    private int imported;
+    private int rejected;
+    private boolean completed;
+    private long tookMs;
+    private List<ProductImportError> errors = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReservationRequest {
+
+    @NotEmpty
+    @Valid
+    private List<OrderRequest.Item> items;
+}
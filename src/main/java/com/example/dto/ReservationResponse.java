@@ -0,0 +1,42 @@
+package com.example.dto;
+
+import com.example.entity.ReservationStatus;
+import com.example.entity.StockReservation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        private Long productId;
+        private Integer quantity;
+    }
+
+    private Long id;
+    private ReservationStatus status;
+    private Instant expiresAt;
+    private Long orderId;
+    private List<Item> items;
+
+    public static ReservationResponse from(StockReservation reservation) {
+        List<Item> items = reservation.getQuantities().entrySet().stream()
+                .map(line -> new Item(line.getKey(), line.getValue()))
+                .toList();
+        return new ReservationResponse(reservation.getId(), reservation.getStatus(), reservation.getExpiresAt(),
+                reservation.getOrderId(), items);
+    }
+}
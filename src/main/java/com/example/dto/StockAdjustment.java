@@ -0,0 +1,28 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One product of a stock sync: either the absolute {@code quantity} on hand or a {@code delta} to apply to it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustment {
+
+    private Long productId;
+    private Integer quantity;
+    private Integer delta;
+
+    public static StockAdjustment absolute(Long productId, int quantity) {
+        return new StockAdjustment(productId, quantity, null);
+    }
+
+    public static StockAdjustment delta(Long productId, int delta) {
+        return new StockAdjustment(productId, null, delta);
+    }
+}
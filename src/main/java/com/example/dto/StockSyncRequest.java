@@ -0,0 +1,22 @@
+package com.example.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Entries are checked one by one, an invalid entry is reported without failing the others.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class StockSyncRequest {
+
+    @NotEmpty
+    @Size(max = 100_000)
+    private List<StockAdjustment> adjustments;
+}
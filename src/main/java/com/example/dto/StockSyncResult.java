@@ -0,0 +1,23 @@
+package com.example.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a stock sync: {@code changed} rows were written, {@code unchanged} ones already held the quantity and
+ * were left alone.
+ */
+@Getter
+@Setter
+public class StockSyncResult {
+
+    private int received;
+    private int changed;
+    private int unchanged;
+    private int rejected;
+    private long tookMs;
+    private List<StockSyncError> errors = new ArrayList<>();
+}
@@ -1,33 +1,57 @@
 package com.example.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Locale;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // Price ranges and the (price, id) keyset ordering of GET /api/products/scroll
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        // Case-insensitive name prefix and the (name, id) keyset ordering
+        @Index(name = "idx_products_name_normalized_id", columnList = "name_normalized, id"),
+        // Availability filter of the search, with a price range after it. The deleted flag is left out: nearly
+        // every row is live, so a leading deleted column would match every query and crowd out the indexes above
+        @Index(name = "idx_products_available_price", columnList = "available, price")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
+    /**
+     * Lower-cased {@link #name}, kept in step by {@link #setName}; name filters and ordering use it, so they need
+     * no {@code LOWER()} per row and a prefix match can seek into its index.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_normalized")
+    private String nameNormalized;
+
     private String description;
 
     @Column(nullable = false, scale = 2)
@@ -42,6 +66,18 @@ public class Product {
     private Instant updatedAt = Instant.now();
     private Boolean available;
 
+    @Version
+    private Long version;
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameNormalized = normalizeName(name);
+    }
+
+    public static String normalizeName(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
     @PreUpdate
     public void preUpdate() {
         updatedAt = Instant.now();
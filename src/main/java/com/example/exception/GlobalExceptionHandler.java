@@ -2,12 +2,14 @@ package com.example.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
@@ -28,6 +30,69 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleConflict(OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return build(HttpStatus.CONFLICT, "Resource was modified concurrently, reload and retry",
+                request.getRequestURI());
+    }
+
+    @ExceptionHandler(VersionRequiredException.class)
+    public ResponseEntity<ApiErrorResponse> handleVersionRequired(VersionRequiredException ex,
+            HttpServletRequest request) {
+        log.warn("Write without version at {}", request.getRequestURI());
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ResponseEntity<ApiErrorResponse> handleQueueFull(OrderQueueFullException ex, HttpServletRequest request) {
+        log.warn("Backpressure: {}", ex.getMessage());
+        return build(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ApiErrorResponse> handleKeyReuse(IdempotencyKeyReuseException ex,
+            HttpServletRequest request) {
+        log.warn("Idempotency key reuse: {}", ex.getMessage());
+        return build(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInFlightException.class)
+    public ResponseEntity<ApiErrorResponse> handleKeyInFlight(IdempotencyKeyInFlightException ex,
+            HttpServletRequest request) {
+        log.warn("Idempotency key in flight: {}", ex.getMessage());
+        return build(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidKey(InvalidIdempotencyKeyException ex,
+            HttpServletRequest request) {
+        log.warn("Invalid idempotency key at {}", request.getRequestURI());
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ReservationNotActiveException.class)
+    public ResponseEntity<ApiErrorResponse> handleReservationNotActive(ReservationNotActiveException ex,
+            HttpServletRequest request) {
+        log.warn("Reservation not active: {}", ex.getMessage());
+        return build(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidCursor(InvalidCursorException ex,
+            HttpServletRequest request) {
+        log.warn("Invalid cursor at {}", request.getRequestURI());
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidImport(InvalidImportException ex,
+            HttpServletRequest request) {
+        log.warn("Invalid import: {}", ex.getMessage());
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+    }
+
     @ExceptionHandler(UnauthenticatedException.class)
     public ResponseEntity<ApiErrorResponse> handleUnauth(UnauthenticatedException ex, HttpServletRequest request) {
         log.warn("Unauthenticated: {}", ex.getMessage());
@@ -50,6 +115,13 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, msg, request.getRequestURI());
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request) {
+        log.warn("Invalid value for parameter {} at {}", ex.getName(), request.getRequestURI());
+        return build(HttpStatus.BAD_REQUEST, "Invalid value for parameter " + ex.getName(), request.getRequestURI());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGeneric(Exception ex, HttpServletRequest request) {
         log.error("Unhandled exception at {}", request.getRequestURI(), ex);
@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class IdempotencyKeyInFlightException extends RuntimeException {
+
+    public IdempotencyKeyInFlightException(String message) {super(message);}
+}
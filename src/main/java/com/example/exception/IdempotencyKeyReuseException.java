@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String message) {super(message);}
+}
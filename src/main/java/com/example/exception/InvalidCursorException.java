@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {super(message);}
+}
@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {super(message);}
+}
@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message) {super(message);}
+}
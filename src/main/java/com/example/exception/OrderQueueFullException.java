@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class OrderQueueFullException extends RuntimeException {
+
+    public OrderQueueFullException(String message) {super(message);}
+}
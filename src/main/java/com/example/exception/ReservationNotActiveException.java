@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class ReservationNotActiveException extends RuntimeException {
+
+    public ReservationNotActiveException(String message) {super(message);}
+}
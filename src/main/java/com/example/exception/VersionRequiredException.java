@@ -0,0 +1,6 @@
+package com.example.exception;
+
+public class VersionRequiredException extends RuntimeException {
+
+    public VersionRequiredException(String message) {super(message);}
+}
@@ -5,6 +5,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
@@ -12,12 +14,14 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
 
 @Slf4j
 @Component
 public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
     private static final String MASK = "*****";
+    private static final Set<String> BULK_PATHS = Set.of("/api/products/import", "/api/products/stock");
 
     private String maskSensitive(String body) {
         if (body == null || body.isBlank()) {
@@ -35,7 +39,15 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        return path.startsWith("/actuator") || path.startsWith("/h2-console");
+        return path.startsWith("/actuator") || path.startsWith("/h2-console") || isStreaming(request);
+    }
+
+    // Buffering a streamed response would hold all of it in memory and only release it after the async dispatch;
+    // the same goes for bulk uploads, which would also end up in one log line of megabytes
+    private boolean isStreaming(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+                || BULK_PATHS.contains(request.getRequestURI());
     }
 
     @Override
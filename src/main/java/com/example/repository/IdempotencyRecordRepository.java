@@ -0,0 +1,40 @@
+package com.example.repository;
+
+import com.example.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Plain INSERT, so a key that is already taken fails on the primary key instead of being merged.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, completed, status, created_at) "
+            + "VALUES (:key, :requestHash, false, 0, :createdAt)", nativeQuery = true)
+    void insertClaim(@Param("key") String key, @Param("requestHash") String requestHash,
+            @Param("createdAt") Instant createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.completed = true, r.status = :status, r.location = :location, "
+            + "r.body = :body WHERE r.key = :key")
+    int complete(@Param("key") String key, @Param("status") int status, @Param("location") String location,
+            @Param("body") String body);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.completed = false")
+    int deleteClaim(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,10 @@
+package com.example.repository;
+
+import java.time.Instant;
+
+/**
+ * Optional criteria for order listings, {@code null} fields are not applied. {@code to} is exclusive.
+ */
+public record OrderFilter(Long userId, Instant from, Instant to) {
+
+}
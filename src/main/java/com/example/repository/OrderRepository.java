@@ -1,8 +1,18 @@
 package com.example.repository;
 
 import com.example.entity.OrderEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+public interface OrderRepository extends JpaRepository<OrderEntity, Long>, OrderRepositoryCustom {
+
+    @EntityGraph(attributePaths = "items")
+    Optional<OrderEntity> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findWithItemsByIdIn(Collection<Long> ids);
 }
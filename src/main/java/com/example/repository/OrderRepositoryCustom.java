@@ -0,0 +1,22 @@
+package com.example.repository;
+
+import com.example.entity.OrderEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Keyset page ordered by {@code createdAt desc, id desc}. Rows start strictly after the
+     * {@code (afterCreatedAt, afterId)} position, or at the newest order when both are {@code null}.
+     */
+    List<OrderEntity> findPage(OrderFilter filter, Instant afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Forward-only read of all matching orders with their items, in the same order as {@link #findPage}.
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<OrderEntity> streamOrders(OrderFilter filter);
+}
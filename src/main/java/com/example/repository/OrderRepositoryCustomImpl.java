@@ -0,0 +1,79 @@
+package com.example.repository;
+
+import com.example.entity.OrderEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private final int streamFetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderRepositoryCustomImpl(@Value("${app.orders.stream.fetch-size:500}") int streamFetchSize) {
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @Override
+    public List<OrderEntity> findPage(OrderFilter filter, Instant afterCreatedAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderEntity> cq = cb.createQuery(OrderEntity.class);
+        Root<OrderEntity> o = cq.from(OrderEntity.class);
+
+        List<Predicate> predicates = filterPredicates(cb, o, filter);
+        if (afterCreatedAt != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(o.get("createdAt"), afterCreatedAt),
+                    cb.and(cb.equal(o.get("createdAt"), afterCreatedAt), cb.lessThan(o.get("id"), afterId))));
+        }
+
+        cq.select(o)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(o.get("createdAt")), cb.desc(o.get("id")));
+        return entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<OrderEntity> streamOrders(OrderFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderEntity> cq = cb.createQuery(OrderEntity.class);
+        Root<OrderEntity> o = cq.from(OrderEntity.class);
+        // Rows of one order stay adjacent under this ordering, so the scroll can assemble each order's items
+        o.fetch("items", JoinType.LEFT);
+
+        cq.select(o)
+                .where(filterPredicates(cb, o, filter).toArray(Predicate[]::new))
+                .orderBy(cb.desc(o.get("createdAt")), cb.desc(o.get("id")));
+        return entityManager.createQuery(cq)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static List<Predicate> filterPredicates(CriteriaBuilder cb, Root<OrderEntity> o, OrderFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.userId() != null) {
+            predicates.add(cb.equal(o.get("userId"), filter.userId()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(o.get("createdAt"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(o.get("createdAt"), filter.to()));
+        }
+        return predicates;
+    }
+}
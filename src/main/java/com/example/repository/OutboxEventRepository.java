@@ -0,0 +1,18 @@
+package com.example.repository;
+
+import com.example.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest events not locked by another relay; the row locks are held until the caller's transaction ends.
+     */
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("limit") int limit);
+}
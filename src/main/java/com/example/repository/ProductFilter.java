@@ -0,0 +1,12 @@
+package com.example.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional criteria for product listings, {@code null} fields are not applied. {@code name} matches anywhere in
+ * the product name, {@code namePrefix} at its start; both ignore case.
+ */
+public record ProductFilter(String name, String namePrefix, BigDecimal minPrice, BigDecimal maxPrice,
+        Boolean available) {
+
+}
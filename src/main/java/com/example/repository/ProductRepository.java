@@ -1,24 +1,72 @@
 package com.example.repository;
 
 import com.example.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
-    @Query("SELECT p FROM Product p " +
-            "WHERE (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+    String SEARCH_CONDITIONS = "WHERE p.deleted = false " +
+            "AND (:name IS NULL OR p.nameNormalized LIKE CONCAT('%', LOWER(:name), '%')) " +
             "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
             "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
-            "AND (:available IS NULL OR p.available = :available)")
+            "AND (:available IS NULL OR p.available = :available)";
+
+    @Query("SELECT p FROM Product p " + SEARCH_CONDITIONS)
     Page<Product> search(@Param("name") String name,
             @Param("minPrice") BigDecimal minPrice,
             @Param("maxPrice") BigDecimal maxPrice,
             @Param("available") Boolean available,
             Pageable pageable);
+
+    /**
+     * Same rows as {@link #search} without the count query; one extra row is read to tell whether more follow.
+     */
+    @Query("SELECT p FROM Product p " + SEARCH_CONDITIONS)
+    Slice<Product> searchSlice(@Param("name") String name,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("available") Boolean available,
+            Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.quantity AS quantity FROM Product p WHERE p.deleted = false")
+    List<StockLevel> findStockLevels();
+
+    @Query("SELECT p.id AS id, p.quantity AS quantity FROM Product p WHERE p.id IN :ids AND p.deleted = false")
+    List<StockLevel> findStockLevels(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.quantity AS quantity, p.version AS version, p.updatedAt AS updatedAt FROM Product p "
+            + "WHERE p.id = :id")
+    Optional<StockState> findStockState(@Param("id") Long id);
+
+    /**
+     * Fields the name search index needs, streamed so a rebuild does not load the whole catalog at once.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, p.name AS name, p.price AS price, p.available AS available, p.version AS version "
+            + "FROM Product p WHERE p.deleted = false")
+    Stream<SearchableProduct> streamSearchable();
+
+    /**
+     * Fills {@code name_normalized} for rows written before the column existed or by plain SQL.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.nameNormalized = LOWER(p.name) WHERE p.nameNormalized IS NULL")
+    int backfillNormalizedNames();
 }
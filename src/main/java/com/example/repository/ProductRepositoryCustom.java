@@ -0,0 +1,54 @@
+package com.example.repository;
+
+import com.example.entity.Product;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Keyset page of products that are not deleted, ordered by {@code sort} then id. Rows start strictly after
+     * the {@code (afterValue, afterId)} position, or at the first row when both are {@code null}; {@code afterValue}
+     * is a {@code BigDecimal} for {@link ProductSort#PRICE} and a {@code String} for {@link ProductSort#NAME}.
+     */
+    List<Product> findPage(ProductFilter filter, ProductSort sort, Comparable<?> afterValue, Long afterId, int limit);
+
+    /**
+     * Atomically decrements stock for every entry of {@code quantities} in one JDBC batch.
+     * A row is only touched when the product is not deleted and still has enough stock.
+     *
+     * @return affected row count per entry, in the iteration order of {@code quantities}
+     */
+    int[] decrementStock(Map<Long, Integer> quantities);
+
+    /**
+     * Subtracts already-reserved quantities without re-checking stock, used by the in-memory ledger flush.
+     *
+     * @return affected row count per entry, in the iteration order of {@code quantities}
+     */
+    int[] subtractStock(Map<Long, Long> quantities);
+
+    /**
+     * Puts quantities taken by {@link #decrementStock} back, deleted products included.
+     *
+     * @return affected row count per entry, in the iteration order of {@code quantities}
+     */
+    int[] incrementStock(Map<Long, Integer> quantities);
+
+    /**
+     * Sets stock to an absolute quantity in one JDBC batch. Rows that already hold the quantity and deleted
+     * products are not touched, so their version stays as it is.
+     *
+     * @return affected row count per entry, in the iteration order of {@code quantities}
+     */
+    int[] setStock(Map<Long, Integer> quantities);
+
+    /**
+     * Adds signed deltas in one JDBC batch. A row is only touched when the product is not deleted and the
+     * result is neither negative nor past {@code Integer.MAX_VALUE}.
+     *
+     * @return affected row count per entry, in the iteration order of {@code deltas}
+     */
+    int[] adjustStock(Map<Long, Integer> deltas);
+}
@@ -0,0 +1,143 @@
+package com.example.repository;
+
+import com.example.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String DECREMENT_STOCK_SQL = "UPDATE products "
+            + "SET quantity = quantity - ?, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND quantity >= ? AND deleted = FALSE";
+
+    private static final String SUBTRACT_STOCK_SQL = "UPDATE products "
+            + "SET quantity = quantity - ?, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ?";
+
+    private static final String INCREMENT_STOCK_SQL = "UPDATE products "
+            + "SET quantity = quantity + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ?";
+
+    private static final String SET_STOCK_SQL = "UPDATE products "
+            + "SET quantity = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND quantity <> ? AND deleted = FALSE";
+
+    // The bounds are checked in BIGINT, so a delta past the INTEGER range skips the row instead of failing the batch
+    private static final String ADJUST_STOCK_SQL = "UPDATE products "
+            + "SET quantity = quantity + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND CAST(quantity AS BIGINT) + ? BETWEEN 0 AND 2147483647 AND deleted = FALSE";
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Product> findPage(ProductFilter filter, ProductSort sort, Comparable<?> afterValue, Long afterId,
+            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> cq = cb.createQuery(Product.class);
+        Root<Product> p = cq.from(Product.class);
+
+        List<Predicate> predicates = filterPredicates(cb, p, filter);
+        if (afterValue != null && afterId != null) {
+            predicates.add(after(cb, p.get(sort.attribute()), p.get("id"), afterValue, afterId));
+        }
+
+        cq.select(p)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(p.get(sort.attribute())), cb.asc(p.get("id")));
+        return entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int[] decrementStock(Map<Long, Integer> quantities) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((id, qty) -> args.add(new Object[]{qty, id, qty}));
+        return jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, args);
+    }
+
+    @Override
+    public int[] subtractStock(Map<Long, Long> quantities) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((id, qty) -> args.add(new Object[]{qty, id}));
+        return jdbcTemplate.batchUpdate(SUBTRACT_STOCK_SQL, args);
+    }
+
+    @Override
+    public int[] incrementStock(Map<Long, Integer> quantities) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((id, qty) -> args.add(new Object[]{qty, id}));
+        return jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, args);
+    }
+
+    @Override
+    public int[] setStock(Map<Long, Integer> quantities) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((id, qty) -> args.add(new Object[]{qty, id, qty}));
+        return jdbcTemplate.batchUpdate(SET_STOCK_SQL, args);
+    }
+
+    @Override
+    public int[] adjustStock(Map<Long, Integer> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> args.add(new Object[]{delta, id, delta}));
+        return jdbcTemplate.batchUpdate(ADJUST_STOCK_SQL, args);
+    }
+
+    /**
+     * {@code (value, id) > (afterValue, afterId)} written as {@code value >= afterValue AND (value > afterValue OR
+     * id > afterId)}: the leading range condition lets the database seek into a (value, id) index, which a plain
+     * OR of the two cases does not.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder cb, Expression value, Expression<Long> id, Comparable afterValue,
+            Long afterId) {
+        return cb.and(
+                cb.greaterThanOrEqualTo(value, afterValue),
+                cb.or(cb.greaterThan(value, afterValue), cb.greaterThan(id, afterId)));
+    }
+
+    private static List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Product> p, ProductFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isFalse(p.get("deleted")));
+        if (filter.name() != null) {
+            predicates.add(cb.like(p.get("nameNormalized"), "%" + Product.normalizeName(filter.name()) + "%"));
+        }
+        if (filter.namePrefix() != null) {
+            // Escaped so the pattern keeps a constant prefix the name index can seek to
+            predicates.add(cb.like(p.get("nameNormalized"),
+                    escapeLike(Product.normalizeName(filter.namePrefix())) + "%", LIKE_ESCAPE));
+        }
+        if (filter.minPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(p.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(p.get("price"), filter.maxPrice()));
+        }
+        if (filter.available() != null) {
+            predicates.add(cb.equal(p.get("available"), filter.available()));
+        }
+        return predicates;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.repository;
+
+/**
+ * Orderings of keyset product listings, ascending, with the id breaking ties. Names order ignoring case.
+ */
+public enum ProductSort {
+
+    PRICE("price"),
+    NAME("nameNormalized");
+
+    private final String attribute;
+
+    ProductSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+}
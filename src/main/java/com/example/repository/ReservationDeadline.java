@@ -0,0 +1,10 @@
+package com.example.repository;
+
+import java.time.Instant;
+
+public interface ReservationDeadline {
+
+    Long getId();
+
+    Instant getExpiresAt();
+}
@@ -0,0 +1,16 @@
+package com.example.repository;
+
+import java.math.BigDecimal;
+
+public interface SearchableProduct {
+
+    Long getId();
+
+    String getName();
+
+    BigDecimal getPrice();
+
+    Boolean getAvailable();
+
+    Long getVersion();
+}
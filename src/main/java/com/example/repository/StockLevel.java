@@ -0,0 +1,8 @@
+package com.example.repository;
+
+public interface StockLevel {
+
+    Long getId();
+
+    Integer getQuantity();
+}
@@ -0,0 +1,32 @@
+package com.example.repository;
+
+import com.example.entity.ReservationStatus;
+import com.example.entity.StockReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @EntityGraph(attributePaths = "quantities")
+    Optional<StockReservation> findWithQuantitiesById(Long id);
+
+    @EntityGraph(attributePaths = "quantities")
+    List<StockReservation> findWithQuantitiesByIdInAndStatus(Collection<Long> ids, ReservationStatus status);
+
+    /**
+     * Deadlines of all open holds, streamed so rebuilding the expiry wheel does not load them all at once.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id AS id, r.expiresAt AS expiresAt FROM StockReservation r "
+            + "WHERE r.status = com.example.entity.ReservationStatus.HELD")
+    Stream<ReservationDeadline> streamHeldDeadlines();
+}
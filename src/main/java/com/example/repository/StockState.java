@@ -0,0 +1,15 @@
+package com.example.repository;
+
+import java.time.Instant;
+
+/**
+ * The product columns every order changes, read separately from the cached catalog fields.
+ */
+public interface StockState {
+
+    Integer getQuantity();
+
+    Long getVersion();
+
+    Instant getUpdatedAt();
+}
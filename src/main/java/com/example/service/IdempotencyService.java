@@ -0,0 +1,14 @@
+package com.example.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code action} once per (username, key); duplicates wait for the first execution or replay its
+     * stored response.
+     */
+    ResponseEntity<?> execute(String username, String key, Object request, Supplier<ResponseEntity<?>> action);
+}
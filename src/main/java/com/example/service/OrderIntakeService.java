@@ -0,0 +1,15 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatusResponse;
+
+import java.util.List;
+
+public interface OrderIntakeService {
+
+    boolean isEnabled();
+
+    OrderStatusResponse submit(String username, List<OrderRequest.Item> itemsReq);
+
+    OrderStatusResponse getStatus(String id, String username);
+}
@@ -1,16 +1,29 @@
 package com.example.service;
 
+import com.example.dto.BatchOrderResult;
+import com.example.dto.CursorPage;
+import com.example.dto.OrderQuote;
 import com.example.dto.OrderRequest;
 import com.example.entity.OrderEntity;
+import com.example.repository.OrderFilter;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
     OrderEntity placeOrder(String username, List<OrderRequest.Item> itemsReq);
 
+    List<BatchOrderResult> placeOrders(String username, List<OrderRequest> orders);
+
+    OrderQuote quoteOrder(String username, List<OrderRequest.Item> itemsReq);
+
     OrderEntity getOrderById(Long id);
 
-    List<OrderEntity> getAllOrders();
+    CursorPage<OrderEntity> getOrders(OrderFilter filter, String cursor, int limit);
+
+    CursorPage<OrderEntity> getUserOrders(String username, String cursor, int limit);
+
+    void streamOrders(OrderFilter filter, Consumer<OrderEntity> sink);
 }
 
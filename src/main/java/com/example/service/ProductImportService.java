@@ -0,0 +1,13 @@
+package com.example.service;
+
+import com.example.dto.ProductImportReport;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    /**
+     * Imports products from a JSON array or newline-delimited JSON objects, read as a stream.
+     */
+    ProductImportReport importProducts(InputStream body);
+}
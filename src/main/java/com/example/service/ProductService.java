@@ -1,8 +1,12 @@
 package com.example.service;
 
+import com.example.dto.CursorPage;
 import com.example.entity.Product;
+import com.example.repository.ProductFilter;
+import com.example.repository.ProductSort;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -18,5 +22,10 @@ public interface ProductService {
     void softDelete(Long id);
 
     Page<Product> search(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean available, Pageable pageable);
+
+    Slice<Product> searchSlice(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean available,
+            Pageable pageable);
+
+    CursorPage<Product> scroll(ProductFilter filter, ProductSort sort, String cursor, int limit);
 }
 
@@ -0,0 +1,18 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.OrderEntity;
+import com.example.entity.StockReservation;
+
+import java.util.List;
+
+public interface ReservationService {
+
+    StockReservation hold(String username, List<OrderRequest.Item> itemsReq);
+
+    StockReservation getReservation(Long id, String username);
+
+    OrderEntity confirm(Long id, String username);
+
+    StockReservation release(Long id, String username);
+}
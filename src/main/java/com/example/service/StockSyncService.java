@@ -0,0 +1,14 @@
+package com.example.service;
+
+import com.example.dto.StockAdjustment;
+import com.example.dto.StockSyncResult;
+
+import java.util.List;
+
+public interface StockSyncService {
+
+    /**
+     * Applies absolute and delta stock adjustments with batched updates, without loading the products.
+     */
+    StockSyncResult sync(List<StockAdjustment> adjustments);
+}
@@ -0,0 +1,38 @@
+package com.example.service.catalog;
+
+import com.example.entity.Product;
+import com.example.repository.StockState;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Cached part of a product: the fields only catalog edits change. Quantity, version and updatedAt move with every
+ * order and are read per request.
+ */
+public record CatalogEntry(Long id, String name, String description, BigDecimal price, Boolean available,
+        boolean deleted, Instant createdAt) {
+
+    static CatalogEntry from(Product p) {
+        return new CatalogEntry(p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getAvailable(),
+                p.isDeleted(), p.getCreatedAt());
+    }
+
+    /**
+     * Detached product combining this entry with the current stock columns.
+     */
+    public Product toProduct(StockState stock) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setDescription(description);
+        p.setPrice(price);
+        p.setAvailable(available);
+        p.setDeleted(deleted);
+        p.setCreatedAt(createdAt);
+        p.setQuantity(stock.getQuantity());
+        p.setVersion(stock.getVersion());
+        p.setUpdatedAt(stock.getUpdatedAt());
+        return p;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.service.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter advanced by every committed catalog write on this instance. Anything derived from the catalog as a
+ * whole, such as cached search pages, is keyed on it and goes stale the moment it moves. Stock changes from orders
+ * do not advance it.
+ */
+@Component
+public class CatalogGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    /**
+     * Advancing before the commit would let a concurrent read cache the old rows under the new generation.
+     */
+    public void advanceAfterCommit() {
+        AfterCommit.run(generation::incrementAndGet);
+    }
+}
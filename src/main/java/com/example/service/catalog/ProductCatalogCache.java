@@ -0,0 +1,51 @@
+package com.example.service.catalog;
+
+import com.example.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link CatalogEntry} per product id, bounded by size (Caffeine's W-TinyLFU eviction) and
+ * TTL. Catalog writes on this instance invalidate their entry once they commit; the TTL bounds how long other
+ * instances may serve the old entry. Hit, miss and eviction counts are published as {@code cache.*} meters
+ * tagged {@code cache=products}.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final LoadingCache<Long, CatalogEntry> entries;
+
+    public ProductCatalogCache(ProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.products.cache.max-entries:10000}") long maxEntries,
+            @Value("${app.products.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build(id -> productRepository.findById(id).map(CatalogEntry::from).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "products");
+    }
+
+    /**
+     * Unknown ids are not cached, deleted products are (with {@code deleted} set).
+     */
+    public Optional<CatalogEntry> get(Long id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    /**
+     * Drops the entry when the surrounding transaction commits, or right away outside a transaction. Evicting
+     * before the commit would let a concurrent read cache the old row again.
+     */
+    public void invalidateAfterCommit(Long id) {
+        AfterCommit.run(() -> entries.invalidate(id));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.service.catalog;
+
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import com.example.repository.SearchableProduct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-process {@link TrigramIndex} over the names of all products that are not deleted
+ * ({@code app.products.search.index.enabled}). Built once the application is ready and kept current by the catalog
+ * writes of {@code ProductServiceImpl}, applied when they commit. Until the first build finishes, and for writes
+ * made on other instances or directly through the repository, the index does not know about the change; those
+ * reads fall back to or stay with the database query.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final TrigramIndex index = new TrigramIndex();
+
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.products.search.index.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Edits that commit while the rebuild streams are applied too; versioned writes keep the newer of the two.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<SearchableProduct> products = productRepository.streamSearchable()) {
+                products.forEach(p -> index.put(p.getId(), p.getName(), p.getPrice(), p.getAvailable(),
+                        versionOf(p.getVersion())));
+            }
+        });
+        ready = true;
+        log.info("Product search index built products={} tookMs={}", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Whether {@link #search} can answer {@code name}: the index is built and the name has at least one trigram.
+     */
+    public boolean canAnswer(String name) {
+        return ready && TrigramIndex.supports(name);
+    }
+
+    public long[] search(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean available) {
+        return index.search(name, minPrice, maxPrice, available);
+    }
+
+    /**
+     * Reads the product when the transaction commits, so the version bumped at flush is the one indexed.
+     */
+    public void indexAfterCommit(Product p) {
+        if (enabled) {
+            AfterCommit.run(() -> index.put(p.getId(), p.getName(), p.getPrice(), p.getAvailable(),
+                    versionOf(p.getVersion())));
+        }
+    }
+
+    /**
+     * Like {@link #indexAfterCommit} for a batch of products, with one commit callback for all of them.
+     */
+    public void indexAllAfterCommit(List<Product> products) {
+        if (enabled) {
+            AfterCommit.run(() -> products.forEach(p -> index.put(p.getId(), p.getName(), p.getPrice(),
+                    p.getAvailable(), versionOf(p.getVersion()))));
+        }
+    }
+
+    public void removeAfterCommit(Product p) {
+        if (enabled) {
+            AfterCommit.run(() -> index.remove(p.getId(), versionOf(p.getVersion())));
+        }
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0 : version;
+    }
+}
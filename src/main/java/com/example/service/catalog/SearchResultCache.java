@@ -0,0 +1,99 @@
+package com.example.service.catalog;
+
+import com.example.entity.Product;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Product search pages keyed on the normalized search parameters and the {@link CatalogGeneration}
+ * ({@code app.products.search.cache.*}). Identical requests that miss at the same time share one load: the first
+ * caller runs the query on its own thread, the others wait for its result. Failed loads are not kept.
+ * <p>
+ * A committed catalog write moves the generation, so no page read before it is served afterwards. Quantity and
+ * version inside cached pages are not tracked and can lag behind orders by up to {@code ttl-seconds}. Pages are
+ * shared between callers and must not be modified. Statistics are published as {@code cache.*} meters tagged
+ * {@code cache=productSearch}.
+ */
+@Component
+public class SearchResultCache {
+
+    private final CatalogGeneration catalogGeneration;
+    private final boolean enabled;
+    private final AsyncCache<SearchKey, Page<Product>> pages;
+
+    public SearchResultCache(CatalogGeneration catalogGeneration,
+            MeterRegistry meterRegistry,
+            @Value("${app.products.search.cache.enabled:true}") boolean enabled,
+            @Value("${app.products.search.cache.max-entries:1000}") long maxEntries,
+            @Value("${app.products.search.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.catalogGeneration = catalogGeneration;
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "productSearch");
+    }
+
+    public Page<Product> get(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean available,
+            Pageable pageable, Supplier<Page<Product>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        SearchKey key = SearchKey.of(catalogGeneration.current(), name, minPrice, maxPrice, available, pageable);
+
+        // The mapping function only installs the future, the query itself runs outside the cache's lock
+        CompletableFuture<Page<Product>> claimed = new CompletableFuture<>();
+        CompletableFuture<Page<Product>> result = pages.get(key, (k, executor) -> claimed);
+        if (result == claimed) {
+            try {
+                claimed.complete(loader.get());
+            } catch (RuntimeException | Error ex) {
+                // Waiters must not hang on a load that died; Caffeine drops the failed entry
+                claimed.completeExceptionally(ex);
+            }
+        }
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Lower-cased name, search ignores case; prices compared by value.
+     */
+    record SearchKey(long generation, String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean available,
+            int page, int size, String sort) {
+
+        static SearchKey of(long generation, String name, BigDecimal minPrice, BigDecimal maxPrice,
+                Boolean available, Pageable pageable) {
+            return new SearchKey(generation, name == null ? null : name.toLowerCase(Locale.ROOT),
+                    normalize(minPrice), normalize(maxPrice), available,
+                    pageable.isPaged() ? pageable.getPageNumber() : -1,
+                    pageable.isPaged() ? pageable.getPageSize() : -1,
+                    pageable.getSort().toString());
+        }
+
+        private static BigDecimal normalize(BigDecimal price) {
+            return price == null ? null : price.stripTrailingZeros();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.service.catalog;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index for case-insensitive substring search over product names. Every distinct three-character
+ * window of a lower-cased name maps to a sorted posting list of product ids. A query walks the shortest posting
+ * list among its own trigrams and checks each candidate against the stored name, price and availability, so
+ * results are exact and only the rarest trigram of the query decides how much work a search does. Queries shorter
+ * than three characters have no trigram and are not supported.
+ * <p>
+ * Writes are versioned: a document is only replaced by one with the same or a newer product version, and a
+ * removal leaves a tombstone, so a rebuild racing with live edits cannot bring back an older row. Ids must fit in
+ * an int. Searches share a read lock, writes take the write lock.
+ */
+public class TrigramIndex {
+
+    public static final int GRAM = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int live;
+
+    public static boolean supports(String query) {
+        return query != null && normalize(query).length() >= GRAM;
+    }
+
+    public void put(long id, String name, BigDecimal price, Boolean available, long version) {
+        int key = toKey(id);
+        Document next = new Document(normalize(name), price, available, version, false);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(key);
+            if (previous != null && previous.version > version) {
+                return;
+            }
+            if (previous != null && !previous.removed) {
+                unindex(key, previous.text);
+                live--;
+            }
+            documents.put(key, next);
+            index(key, next.text);
+            live++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, long version) {
+        int key = toKey(id);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(key);
+            if (previous != null && previous.version > version) {
+                return;
+            }
+            if (previous != null && !previous.removed) {
+                unindex(key, previous.text);
+                live--;
+            }
+            documents.put(key, new Document("", null, null, version, true));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids in ascending order of the products whose name contains {@code query}, ignoring case, and that
+     * match the optional price bounds and availability
+     */
+    public long[] search(String query, BigDecimal minPrice, BigDecimal maxPrice, Boolean available) {
+        String text = normalize(query);
+        if (text.length() < GRAM) {
+            throw new IllegalArgumentException("Query needs at least " + GRAM + " characters");
+        }
+        lock.readLock().lock();
+        try {
+            PostingList shortest = null;
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                PostingList list = postings.get(trigram(text, i));
+                if (list == null) {
+                    return new long[0];
+                }
+                if (shortest == null || list.size < shortest.size) {
+                    shortest = list;
+                }
+            }
+
+            long[] out = new long[Math.min(shortest.size, 64)];
+            int n = 0;
+            for (int i = 0; i < shortest.size; i++) {
+                int id = shortest.ids[i];
+                if (documents.get(id).matches(text, minPrice, maxPrice, available)) {
+                    if (n == out.length) {
+                        out = Arrays.copyOf(out, Math.min(shortest.size, n * 2));
+                    }
+                    out[n++] = id;
+                }
+            }
+            return n == out.length ? out : Arrays.copyOf(out, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed, not removed, products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(int id, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            postings.computeIfAbsent(trigram(text, i), g -> new PostingList()).add(id);
+        }
+    }
+
+    private void unindex(int id, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            long gram = trigram(text, i);
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static long trigram(String text, int from) {
+        return (long) text.charAt(from) << 32 | (long) text.charAt(from + 1) << 16 | text.charAt(from + 2);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+
+    private static int toKey(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Product id out of index range: " + id);
+        }
+        return (int) id;
+    }
+
+    private record Document(String text, BigDecimal price, Boolean available, long version, boolean removed) {
+
+        boolean matches(String query, BigDecimal minPrice, BigDecimal maxPrice, Boolean wanted) {
+            return text.contains(query)
+                    && (minPrice == null || price.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || price.compareTo(maxPrice) <= 0)
+                    && (wanted == null || wanted.equals(available));
+        }
+    }
+
+    /**
+     * Sorted int ids. Ids come from a sequence, so most adds are appends.
+     */
+    private static final class PostingList {
+
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == 0 || id > ids[size - 1]) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                // A name repeating a trigram adds its id once
+                return;
+            }
+            int insert = -at - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.service.discount;
+
+import com.example.entity.AppUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Discount rules compiled once at startup into flat arrays plus a table of the combined rate for every set of
+ * matching rules. Evaluating an order only walks the arrays and multiplies once, so the discount itself is the
+ * only object allocated per call. The instance is immutable and shared by all requests.
+ */
+@Slf4j
+@Component
+public final class CompiledDiscountEvaluator implements DiscountStrategy {
+
+    // Bounds the rate table at 2^MAX_RULES entries
+    static final int MAX_RULES = 10;
+
+    private final String[] roles;
+    private final BigDecimal[] thresholds;
+    private final boolean[] stops;
+    private final BigDecimal[] rateByMatches;
+    private final BigDecimal maxAmount;
+
+    public CompiledDiscountEvaluator(DiscountProperties properties) {
+        List<DiscountProperties.Rule> rules = properties.getRules();
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalStateException("At most " + MAX_RULES + " discount rules are supported, got "
+                    + rules.size());
+        }
+        int n = rules.size();
+        this.roles = new String[n];
+        this.thresholds = new BigDecimal[n];
+        this.stops = new boolean[n];
+        BigDecimal[] rates = new BigDecimal[n];
+
+        for (int i = 0; i < n; i++) {
+            DiscountProperties.Rule rule = rules.get(i);
+            BigDecimal rate = rule.getRate();
+            if (rate == null || rate.signum() < 0 || rate.compareTo(BigDecimal.ONE) > 0) {
+                throw new IllegalStateException("Discount rule " + rule.getName() + " needs a rate between 0 and 1");
+            }
+            roles[i] = rule.getRole();
+            thresholds[i] = rule.getSubtotalAbove();
+            stops[i] = rule.isStop();
+            rates[i] = rate;
+        }
+
+        this.rateByMatches = new BigDecimal[1 << n];
+        for (int matches = 1; matches < rateByMatches.length; matches++) {
+            BigDecimal combined = BigDecimal.ZERO;
+            for (int i = 0; i < n; i++) {
+                if ((matches & (1 << i)) != 0) {
+                    combined = combined.add(rates[i]);
+                }
+            }
+            rateByMatches[matches] = combined.min(properties.getMaxRate());
+        }
+        this.maxAmount = properties.getMaxAmount();
+        log.info("Discount rules compiled rules={} maxRate={} maxAmount={}",
+                n, properties.getMaxRate(), maxAmount);
+    }
+
+    @Override
+    public BigDecimal calculate(BigDecimal subtotal, AppUser user) {
+        Set<String> userRoles = user.getRoles();
+        int matches = 0;
+        for (int i = 0; i < roles.length; i++) {
+            if ((roles[i] == null || (userRoles != null && userRoles.contains(roles[i])))
+                    && (thresholds[i] == null || subtotal.compareTo(thresholds[i]) > 0)) {
+                matches |= 1 << i;
+                if (stops[i]) {
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal discount = subtotal.multiply(rateByMatches[matches]);
+        return maxAmount != null && discount.compareTo(maxAmount) > 0 ? maxAmount : discount;
+    }
+}
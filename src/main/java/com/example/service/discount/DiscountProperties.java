@@ -0,0 +1,60 @@
+package com.example.service.discount;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Discount rules from {@code app.discounts}. Defaults reproduce the original tiers: premium users get 10%,
+ * orders above 500 another 5%.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.discounts")
+public class DiscountProperties {
+
+    // Upper bound of the combined rate, as a fraction of the subtotal
+    private BigDecimal maxRate = BigDecimal.ONE;
+
+    // Upper bound of the discount amount, unbounded when null
+    private BigDecimal maxAmount;
+
+    // Evaluated in list order
+    private List<Rule> rules = new ArrayList<>(List.of(
+            rule("premium", "PREMIUM_USER", null, "0.10"),
+            rule("large-order", null, new BigDecimal("500"), "0.05")));
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        private String name;
+
+        // Applies to users holding this role, any user when null
+        private String role;
+
+        // Applies when the subtotal is strictly above this amount, any subtotal when null
+        private BigDecimal subtotalAbove;
+
+        // Fraction of the subtotal, rates of all matching rules add up
+        private BigDecimal rate;
+
+        // When this rule matches, the rules after it are not evaluated
+        private boolean stop;
+    }
+
+    private static Rule rule(String name, String role, BigDecimal subtotalAbove, String rate) {
+        Rule rule = new Rule();
+        rule.setName(name);
+        rule.setRole(role);
+        rule.setSubtotalAbove(subtotalAbove);
+        rule.setRate(new BigDecimal(rate));
+        return rule;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.service.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /**
+     * @return the response stored for a completed key; empty for unknown keys and for keys still in flight
+     */
+    Optional<StoredResponse> find(String key);
+
+    /**
+     * Claims the key before its request runs.
+     *
+     * @return {@code false} when the key is already claimed or completed
+     */
+    boolean claim(String key, String requestHash);
+
+    /**
+     * Stores the response of a claimed key.
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Drops the claim of a request that failed without side effects, so a retry runs again.
+     */
+    void release(String key);
+}
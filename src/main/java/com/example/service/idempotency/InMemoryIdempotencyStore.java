@@ -0,0 +1,50 @@
+package com.example.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "app.orders.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    // A slot without a response is a claim whose request has not finished
+    private final Cache<String, Slot> responses;
+
+    public InMemoryIdempotencyStore(@Value("${app.orders.idempotency.max-entries:100000}") long maxEntries,
+            @Value("${app.orders.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return Optional.ofNullable(responses.getIfPresent(key)).map(Slot::response);
+    }
+
+    @Override
+    public boolean claim(String key, String requestHash) {
+        return responses.asMap().putIfAbsent(key, new Slot(null)) == null;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        responses.put(key, new Slot(response));
+    }
+
+    @Override
+    public void release(String key) {
+        responses.asMap().computeIfPresent(key, (k, slot) -> slot.response() == null ? null : slot);
+    }
+
+    private record Slot(StoredResponse response) {
+
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.service.idempotency;
+
+import com.example.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Table-backed store ({@code app.orders.idempotency.store=table}) for keys that must survive restarts or be shared
+ * between instances. A claim is a row inserted before the request runs; the primary key makes sure only one
+ * instance wins it, and the row stays in flight until the response is written into it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.orders.idempotency.store", havingValue = "table")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository repository,
+            @Value("${app.orders.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.repository = repository;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        Instant cutoff = Instant.now().minus(ttl);
+        return repository.findById(key)
+                .filter(r -> r.isCompleted() && r.getCreatedAt().isAfter(cutoff))
+                .map(r -> new StoredResponse(r.getRequestHash(), r.getStatus(), r.getLocation(), r.getBody()));
+    }
+
+    @Override
+    public boolean claim(String key, String requestHash) {
+        try {
+            repository.insertClaim(key, requestHash, Instant.now());
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        repository.complete(key, response.status(), response.location(), response.body());
+    }
+
+    @Override
+    public void release(String key) {
+        repository.deleteClaim(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int removed = repository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (removed > 0) {
+            log.info("Purged expired idempotency keys count={}", removed);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.service.idempotency;
+
+/**
+ * Response of the first request for an idempotency key, replayed verbatim to later duplicates.
+ *
+ * @param requestHash fingerprint of the request payload, so a reused key with a different body is detected
+ */
+public record StoredResponse(String requestHash, int status, String location, String body) {
+
+}
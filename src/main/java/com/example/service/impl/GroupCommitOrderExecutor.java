@@ -0,0 +1,208 @@
+package com.example.service.impl;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.OrderEntity;
+import com.example.exception.OrderQueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for {@code placeOrder} ({@code app.orders.group-commit.enabled=true}).
+ * <p>
+ * Concurrent submissions are collected for up to {@code window-ms} or {@code max-batch} orders and placed in one
+ * transaction, each order under its own savepoint: a failing order rolls back to its savepoint and fails only its
+ * own future, the rest of the batch shares a single commit. Only failures raised before an order is persisted are
+ * fully isolated, which covers validation and stock errors; a failure at flush time still aborts the whole batch.
+ * <p>
+ * It only pays off where a commit has a cost of its own and many buyers order at once: on a file-backed database
+ * it raises throughput from 16 concurrent callers up, while a lone caller waits out the window for nothing. On the
+ * default in-memory database commits are free and it is slower at every concurrency, hence off by default.
+ */
+@Slf4j
+@Component
+public class GroupCommitOrderExecutor {
+
+    private final OrderServiceImpl orderService;
+    private final TransactionTemplate batchTx;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long windowNanos;
+    private final BlockingQueue<Submission> queue;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Thread committer;
+    private volatile boolean running;
+
+    public GroupCommitOrderExecutor(OrderServiceImpl orderService,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource,
+            @Value("${app.orders.group-commit.enabled:false}") boolean enabled,
+            @Value("${app.orders.group-commit.max-batch:32}") int maxBatch,
+            @Value("${app.orders.group-commit.window-ms:2}") long windowMs,
+            @Value("${app.orders.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.orderService = orderService;
+        this.batchTx = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        committer = new Thread(this::commitLoop, "order-group-commit");
+        committer.setDaemon(true);
+        committer.start();
+        log.info("Order group commit started maxBatch={} windowNanos={}", maxBatch, windowNanos);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (committer != null) {
+            committer.interrupt();
+        }
+        List<Submission> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(s -> s.result.completeExceptionally(new IllegalStateException("Shutting down")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<OrderEntity> submit(String username, List<OrderRequest.Item> itemsReq) {
+        Submission submission = new Submission(username, itemsReq);
+        if (!queue.offer(submission)) {
+            throw new OrderQueueFullException("Order group commit is at capacity, retry later");
+        }
+        return submission.result;
+    }
+
+    private void commitLoop() {
+        List<Submission> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Submission next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commitBatch(batch);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                batch.forEach(s -> s.result.completeExceptionally(ie));
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Order group commit loop failed batchSize={}", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commitBatch(List<Submission> batch) {
+        OrderEntity[] placed = new OrderEntity[batch.size()];
+        RuntimeException[] failed = new RuntimeException[batch.size()];
+
+        try {
+            batchTx.executeWithoutResult(status -> {
+                // JpaTransactionManager exposes the transaction's JDBC connection, savepoints are set on it directly
+                Connection con = DataSourceUtils.getConnection(dataSource);
+                for (int i = 0; i < batch.size(); i++) {
+                    Submission s = batch.get(i);
+                    Savepoint savepoint = setSavepoint(con);
+                    try {
+                        placed[i] = orderService.placeOrderInCurrentTransaction(s.username, s.items);
+                        entityManager.flush();
+                        releaseSavepoint(con, savepoint);
+                    } catch (RuntimeException ex) {
+                        rollbackToSavepoint(con, savepoint);
+                        failed[i] = ex;
+                    }
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Order group commit failed batchSize={}", batch.size(), ex);
+            batch.forEach(s -> s.result.completeExceptionally(ex));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (failed[i] != null) {
+                batch.get(i).result.completeExceptionally(failed[i]);
+            } else {
+                batch.get(i).result.complete(placed[i]);
+            }
+        }
+        log.debug("Order group committed batchSize={}", batch.size());
+    }
+
+    private static Savepoint setSavepoint(Connection con) {
+        try {
+            return con.setSavepoint();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not create savepoint for group commit", ex);
+        }
+    }
+
+    private static void releaseSavepoint(Connection con, Savepoint savepoint) {
+        try {
+            con.releaseSavepoint(savepoint);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not release group commit savepoint", ex);
+        }
+    }
+
+    private static void rollbackToSavepoint(Connection con, Savepoint savepoint) {
+        try {
+            con.rollback(savepoint);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not roll back to group commit savepoint", ex);
+        }
+    }
+
+    private static final class Submission {
+
+        final String username;
+        final List<OrderRequest.Item> items;
+        final CompletableFuture<OrderEntity> result = new CompletableFuture<>();
+
+        Submission(String username, List<OrderRequest.Item> items) {
+            this.username = username;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.service.impl;
+
+import com.example.dto.BatchOrderResult;
+import com.example.dto.CursorPage;
+import com.example.dto.OrderQuote;
+import com.example.dto.OrderRequest;
+import com.example.entity.OrderEntity;
+import com.example.repository.OrderFilter;
+import com.example.service.OrderService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Sends {@link #placeOrder} through {@link GroupCommitOrderExecutor} when group commit is enabled and straight to
+ * {@link OrderServiceImpl} otherwise. Everything else, batches included, goes to {@link OrderServiceImpl} directly.
+ * <p>
+ * Orders take stock with one conditional UPDATE per line, so concurrent buyers of the same SKU queue on the row
+ * lock rather than failing on a stale version; there is no optimistic conflict here to retry.
+ */
+@Primary
+@Service
+public class GroupCommitRoutingOrderService implements OrderService {
+
+    private final OrderServiceImpl delegate;
+    private final GroupCommitOrderExecutor groupCommit;
+
+    public GroupCommitRoutingOrderService(OrderServiceImpl delegate, GroupCommitOrderExecutor groupCommit) {
+        this.delegate = delegate;
+        this.groupCommit = groupCommit;
+    }
+
+    @Override
+    public OrderEntity placeOrder(String username, List<OrderRequest.Item> itemsReq) {
+        if (!groupCommit.isEnabled()) {
+            return delegate.placeOrder(username, itemsReq);
+        }
+        try {
+            return groupCommit.submit(username, itemsReq).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<BatchOrderResult> placeOrders(String username, List<OrderRequest> orders) {
+        return delegate.placeOrders(username, orders);
+    }
+
+    @Override
+    public OrderQuote quoteOrder(String username, List<OrderRequest.Item> itemsReq) {
+        return delegate.quoteOrder(username, itemsReq);
+    }
+
+    @Override
+    public OrderEntity getOrderById(Long id) {
+        return delegate.getOrderById(id);
+    }
+
+    @Override
+    public CursorPage<OrderEntity> getOrders(OrderFilter filter, String cursor, int limit) {
+        return delegate.getOrders(filter, cursor, limit);
+    }
+
+    @Override
+    public CursorPage<OrderEntity> getUserOrders(String username, String cursor, int limit) {
+        return delegate.getUserOrders(username, cursor, limit);
+    }
+
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<OrderEntity> sink) {
+        delegate.streamOrders(filter, sink);
+    }
+}
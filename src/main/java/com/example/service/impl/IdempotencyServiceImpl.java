@@ -0,0 +1,153 @@
+package com.example.service.impl;
+
+import com.example.exception.IdempotencyKeyInFlightException;
+import com.example.exception.IdempotencyKeyReuseException;
+import com.example.service.IdempotencyService;
+import com.example.service.idempotency.IdempotencyStore;
+import com.example.service.idempotency.StoredResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Keys are scoped per user and claimed in the store before the request runs, so a second instance, or a retry after
+ * the response could not be stored, finds the key taken and gets a conflict instead of placing a second order.
+ * Duplicates on the same instance wait for the first request instead. Only successful executions are stored: a
+ * request that ended in an exception left no side effects behind, so its claim is dropped and a retry runs again.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String username, String key, Object request,
+            Supplier<ResponseEntity<?>> action) {
+        String scopedKey = username + ":" + key;
+        String requestHash = fingerprint(request);
+
+        Optional<StoredResponse> stored = store.find(scopedKey);
+        if (stored.isPresent()) {
+            return replay(scopedKey, stored.get(), requestHash);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopedKey, mine);
+        if (running != null) {
+            log.info("Waiting for in-flight request idempotencyKey={}", scopedKey);
+            return replay(scopedKey, await(running), requestHash);
+        }
+
+        try {
+            if (!store.claim(scopedKey, requestHash)) {
+                // Finished between the lookup above and the claim, or still running elsewhere
+                stored = store.find(scopedKey);
+                if (stored.isPresent()) {
+                    mine.complete(stored.get());
+                    return replay(scopedKey, stored.get(), requestHash);
+                }
+                throw new IdempotencyKeyInFlightException(
+                        "A request with this Idempotency-Key is still being processed, retry later");
+            }
+            return runClaimed(scopedKey, requestHash, action, mine);
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    private ResponseEntity<?> runClaimed(String scopedKey, String requestHash, Supplier<ResponseEntity<?>> action,
+            CompletableFuture<StoredResponse> mine) {
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            try {
+                store.release(scopedKey);
+            } catch (RuntimeException releaseFailure) {
+                ex.addSuppressed(releaseFailure);
+            }
+            throw ex;
+        }
+        StoredResponse captured = capture(requestHash, response);
+        mine.complete(captured);
+        try {
+            store.complete(scopedKey, captured);
+        } catch (RuntimeException ex) {
+            // The order is placed; the claim stays in flight so a retry cannot place it again
+            log.error("Could not store idempotent response idempotencyKey={}", scopedKey, ex);
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> replay(String scopedKey, StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key was already used with a different request");
+        }
+        log.info("Replaying stored response idempotencyKey={}", scopedKey);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            builder.location(URI.create(stored.location()));
+        }
+        return builder.body(stored.body());
+    }
+
+    private StoredResponse capture(String requestHash, ResponseEntity<?> response) {
+        URI location = response.getHeaders().getLocation();
+        try {
+            return new StoredResponse(requestHash, response.getStatusCode().value(),
+                    location == null ? null : location.toString(),
+                    objectMapper.writeValueAsString(response.getBody()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize response for idempotent replay", ex);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint request", ex);
+        }
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.service.impl;
+
+import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatus;
+import com.example.dto.OrderStatusResponse;
+import com.example.entity.AppUser;
+import com.example.entity.OrderEntity;
+import com.example.exception.InsufficientStockException;
+import com.example.exception.OrderQueueFullException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.UserRepository;
+import com.example.service.OrderIntakeService;
+import com.example.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Async order intake ({@code app.orders.intake.mode=async}): requests are queued and acknowledged immediately,
+ * a fixed consumer pool drains the queue in micro-batches and records the outcome per intake id.
+ * Intake state lives in memory only, so statuses do not survive a restart.
+ * <p>
+ * On shutdown new submissions are refused and the consumers place everything already acknowledged before they
+ * exit, for up to {@code shutdown-timeout-seconds}; orders still queued after that are marked rejected.
+ */
+@Slf4j
+@Service
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+    private final OrderService orderService;
+    private final GroupCommitOrderExecutor groupCommit;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int consumers;
+    private final int batchSize;
+    private final Duration statusRetention;
+    private final Duration shutdownTimeout;
+
+    private final BlockingQueue<Ticket> queue;
+    private final ConcurrentMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private ExecutorService consumerPool;
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    public OrderIntakeServiceImpl(OrderService orderService,
+            GroupCommitOrderExecutor groupCommit,
+            UserRepository userRepository,
+            @Value("${app.orders.intake.mode:sync}") String mode,
+            @Value("${app.orders.intake.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.orders.intake.consumers:4}") int consumers,
+            @Value("${app.orders.intake.batch-size:32}") int batchSize,
+            @Value("${app.orders.intake.status-retention-minutes:30}") long statusRetentionMinutes,
+            @Value("${app.orders.intake.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.orderService = orderService;
+        this.groupCommit = groupCommit;
+        this.userRepository = userRepository;
+        this.enabled = "async".equalsIgnoreCase(mode);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.consumers = consumers;
+        this.batchSize = Math.max(1, batchSize);
+        this.statusRetention = Duration.ofMinutes(statusRetentionMinutes);
+        this.shutdownTimeout = Duration.ofSeconds(shutdownTimeoutSeconds);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || consumers <= 0) {
+            return;
+        }
+        running = true;
+        AtomicInteger threadIndex = new AtomicInteger();
+        consumerPool = Executors.newFixedThreadPool(consumers, r -> {
+            Thread t = new Thread(r, "order-intake-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < consumers; i++) {
+            consumerPool.execute(this::drainLoop);
+        }
+        log.info("Async order intake started consumers={} batchSize={}", consumers, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        running = false;
+        if (consumerPool != null) {
+            consumerPool.shutdown();
+            try {
+                if (!consumerPool.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    consumerPool.shutdownNow();
+                }
+            } catch (InterruptedException ie) {
+                consumerPool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Ticket> unplaced = new ArrayList<>();
+        queue.drainTo(unplaced);
+        if (!unplaced.isEmpty()) {
+            log.warn("Order intake stopped with orders still queued count={}", unplaced.size());
+            unplaced.forEach(t -> t.complete(OrderStatus.REJECTED, null,
+                    "Order intake stopped before the order was placed"));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public OrderStatusResponse submit(String username, List<OrderRequest.Item> itemsReq) {
+        if (stopped) {
+            throw new OrderQueueFullException("Order intake is shutting down, retry later");
+        }
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), username, List.copyOf(itemsReq));
+        tickets.put(ticket.id, ticket);
+
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.id);
+            log.warn("Order intake queue full username={} queued={}", username, queue.size());
+            throw new OrderQueueFullException("Order intake is at capacity, retry later");
+        }
+        log.info("Order accepted for async processing id={} username={}", ticket.id, username);
+        return ticket.toResponse();
+    }
+
+    @Override
+    public OrderStatusResponse getStatus(String id, String username) {
+        Ticket ticket = tickets.get(id);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("Order intake not found: " + id);
+        }
+        if (!ticket.username.equals(username)) {
+            AppUser requester = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("user.notfound"));
+            if (requester.getRoles() == null || !requester.getRoles().contains("ADMIN")) {
+                throw new AccessDeniedException("You are not allowed to access this order");
+            }
+        }
+        return ticket.toResponse();
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.intake.cleanup-interval-ms:60000}")
+    public void evictCompleted() {
+        Instant cutoff = Instant.now().minus(statusRetention);
+        tickets.values().removeIf(t -> t.status != OrderStatus.PENDING && t.completedAt.isBefore(cutoff));
+    }
+
+    private void drainLoop() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        // Keeps going after stop() until the queue is empty, acknowledged orders are not dropped
+        while (running || !queue.isEmpty()) {
+            try {
+                Ticket first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Ticket> batch) {
+        if (groupCommit.isEnabled()) {
+            processGrouped(batch);
+            return;
+        }
+        for (Ticket ticket : batch) {
+            try {
+                complete(ticket, orderService.placeOrder(ticket.username, ticket.items), null);
+            } catch (RuntimeException ex) {
+                complete(ticket, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Hands the whole micro-batch to group commit so it shares one transaction instead of one per order.
+     */
+    private void processGrouped(List<Ticket> batch) {
+        List<CompletableFuture<OrderEntity>> results = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            results.add(groupCommit.submit(ticket.username, ticket.items));
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Ticket ticket = batch.get(i);
+            try {
+                complete(ticket, results.get(i).join(), null);
+            } catch (CompletionException ex) {
+                complete(ticket, null, ex.getCause() instanceof RuntimeException cause ? cause : ex);
+            }
+        }
+    }
+
+    private void complete(Ticket ticket, OrderEntity order, RuntimeException failure) {
+        if (failure == null) {
+            ticket.complete(OrderStatus.CONFIRMED, order.getId(), null);
+        } else if (failure instanceof InsufficientStockException || failure instanceof ResourceNotFoundException) {
+            ticket.complete(OrderStatus.REJECTED, null, failure.getMessage());
+        } else {
+            log.error("Async order failed id={} username={}", ticket.id, ticket.username, failure);
+            ticket.complete(OrderStatus.REJECTED, null, "Order could not be placed");
+        }
+    }
+
+    private static final class Ticket {
+
+        final String id;
+        final String username;
+        final List<OrderRequest.Item> items;
+        volatile OrderStatus status = OrderStatus.PENDING;
+        volatile Long orderId;
+        volatile String message;
+        volatile Instant completedAt;
+
+        Ticket(String id, String username, List<OrderRequest.Item> items) {
+            this.id = id;
+            this.username = username;
+            this.items = items;
+        }
+
+        void complete(OrderStatus outcome, Long orderId, String message) {
+            this.orderId = orderId;
+            this.message = message;
+            this.completedAt = Instant.now();
+            this.status = outcome;
+        }
+
+        OrderStatusResponse toResponse() {
+            return new OrderStatusResponse(id, status, orderId, message);
+        }
+    }
+}
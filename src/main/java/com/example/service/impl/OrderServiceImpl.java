@@ -1,17 +1,27 @@
 package com.example.service.impl;
 
+import com.example.dto.BatchOrderResult;
+import com.example.dto.CursorPage;
+import com.example.dto.OrderQuote;
 import com.example.dto.OrderRequest;
 import com.example.entity.AppUser;
 import com.example.entity.OrderEntity;
 import com.example.entity.OrderItem;
 import com.example.entity.Product;
 import com.example.exception.InsufficientStockException;
+import com.example.exception.InvalidCursorException;
 import com.example.exception.ResourceNotFoundException;
+import com.example.repository.OrderFilter;
 import com.example.repository.OrderRepository;
 import com.example.repository.ProductRepository;
 import com.example.repository.UserRepository;
 import com.example.service.discount.DiscountStrategy;
-import com.example.service.discount.DiscountStrategyFactory;
+import com.example.service.inventory.StockAllocator;
+import com.example.service.outbox.OutboxWriter;
+import com.example.service.pricing.Money;
+import com.example.service.pricing.OrderQuoteCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -20,30 +30,76 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Currency;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class OrderServiceImpl implements com.example.service.OrderService {
 
+    // Upper bound for the IN-list of a single product lookup, keeps very large carts within driver limits
+    private static final int PRODUCT_LOAD_CHUNK_SIZE = 500;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final Currency CURRENCY = Currency.getInstance("USD");
+
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final StockAllocator stockAllocator;
+    private final DiscountStrategy discountStrategy;
+    private final OrderQuoteCache quoteCache;
+    private final OutboxWriter outboxWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public OrderServiceImpl(ProductRepository productRepository,
             OrderRepository orderRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            StockAllocator stockAllocator,
+            DiscountStrategy discountStrategy,
+            OrderQuoteCache quoteCache,
+            OutboxWriter outboxWriter) {
         this.productRepository = productRepository;
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
+        this.stockAllocator = stockAllocator;
+        this.discountStrategy = discountStrategy;
+        this.quoteCache = quoteCache;
+        this.outboxWriter = outboxWriter;
     }
 
     @Transactional
     public OrderEntity placeOrder(String username, List<OrderRequest.Item> itemsReq) {
+        return placeOrderInCurrentTransaction(username, itemsReq);
+    }
+
+    /**
+     * Same as {@link #placeOrder} but without its own transaction boundary, for callers that already opened one
+     * (group commit runs several orders in one transaction, each under its own savepoint).
+     */
+    public OrderEntity placeOrderInCurrentTransaction(String username, List<OrderRequest.Item> itemsReq) {
         log.info("Placing order username={} itemsCount={}",
                 username, itemsReq == null ? 0 : itemsReq.size());
 
@@ -51,16 +107,123 @@ public class OrderServiceImpl implements com.example.service.OrderService {
 
         OrderContext ctx = prepareOrderContext(user, itemsReq);
 
-        OrderEntity order = buildOrderAndUpdateStock(ctx);
+        OrderEntity order = orderRepository.save(buildOrderAndUpdateStock(ctx));
+        outboxWriter.orderPlaced(order);
+        return order;
+    }
+
+    /**
+     * Turns stock held by a reservation into an order, inside the caller's transaction. The held units were taken
+     * from the products when the hold was made, so they count as available here and are not reserved again.
+     */
+    public OrderEntity placeHeldOrder(String username, Map<Long, Integer> held) {
+        log.info("Placing order from stock hold username={} itemsCount={}", username, held.size());
+
+        AppUser user = getUser(username);
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>(held);
+        Map<Long, Integer> alreadyTaken = new HashMap<>();
+        held.forEach((productId, qty) -> alreadyTaken.put(productId, -qty));
+        ValidationResult validation = validateLines(quantities, loadProducts(quantities.keySet()), alreadyTaken);
 
-        return orderRepository.save(order);
+        OrderEntity order = orderRepository.save(buildOrder(orderContext(user, validation)));
+        outboxWriter.orderPlaced(order);
+        return order;
+    }
+
+    /**
+     * Places a batch of orders for one user in a single transaction. Products are loaded once for the whole batch,
+     * each order is validated against the stock left by the orders before it, and the stock of all accepted orders
+     * is reserved in one allocator call. Orders failing validation are rejected individually; a stock conflict
+     * with a concurrent writer during the final reservation fails the whole batch.
+     */
+    @Transactional
+    public List<BatchOrderResult> placeOrders(String username, List<OrderRequest> orders) {
+        log.info("Placing order batch username={} ordersCount={}", username, orders.size());
+
+        AppUser user = getUser(username);
+
+        List<Map<Long, Integer>> requested = new ArrayList<>(orders.size());
+        Set<Long> productIds = new HashSet<>();
+        for (OrderRequest request : orders) {
+            Map<Long, Integer> quantities = mergeQuantities(request.getItems());
+            requested.add(quantities);
+            productIds.addAll(quantities.keySet());
+        }
+        Map<Long, Product> prodMap = loadProducts(productIds);
+
+        Map<Long, Integer> claimed = new HashMap<>();
+        // Same totals as claimed, in the order products first appear
+        Map<Long, Integer> toReserve = new LinkedHashMap<>();
+        List<OrderEntity> accepted = new ArrayList<>(orders.size());
+        BatchOrderResult[] results = new BatchOrderResult[orders.size()];
+        OrderEntity[] placed = new OrderEntity[orders.size()];
+
+        for (int i = 0; i < requested.size(); i++) {
+            Map<Long, Integer> quantities = requested.get(i);
+            try {
+                for (Long productId : quantities.keySet()) {
+                    if (!prodMap.containsKey(productId)) {
+                        throw new ResourceNotFoundException("Product not found: " + productId);
+                    }
+                }
+                // Totals with this order, computed before anything is recorded so a rejected order leaves no trace
+                Map<Long, Integer> claimedWith = new LinkedHashMap<>();
+                quantities.forEach((productId, qty) -> claimedWith.put(productId,
+                        addQuantity(productId, claimed.getOrDefault(productId, 0), qty)));
+                ValidationResult validation = validateLines(quantities, prodMap, claimed);
+                OrderEntity order = buildOrder(orderContext(user, validation));
+
+                claimed.putAll(claimedWith);
+                toReserve.putAll(claimedWith);
+                accepted.add(order);
+                placed[i] = order;
+            } catch (InsufficientStockException | ResourceNotFoundException ex) {
+                results[i] = BatchOrderResult.rejected(i, ex.getMessage());
+            }
+        }
+
+        if (!toReserve.isEmpty()) {
+            stockAllocator.reserve(toReserve);
+            orderRepository.saveAll(accepted);
+            outboxWriter.ordersPlaced(accepted);
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (placed[i] != null) {
+                results[i] = BatchOrderResult.placed(i, placed[i].getId(), placed[i].getOrderTotal());
+            }
+        }
+        log.info("Order batch placed username={} accepted={} rejected={}",
+                username, accepted.size(), orders.size() - accepted.size());
+        return List.of(results);
+    }
+
+    /**
+     * Prices a cart through the same validation and discount steps as {@link #placeOrder} without reserving stock
+     * or writing anything. Lines are returned in product id order. Quotes are cached per discount tier, cart
+     * content and product versions, the products are still read on every call to learn their current versions.
+     */
+    @Transactional(readOnly = true)
+    public OrderQuote quoteOrder(String username, List<OrderRequest.Item> itemsReq) {
+        AppUser user = getUser(username);
+        Map<Long, Integer> quantities = new TreeMap<>(mergeQuantities(itemsReq));
+        Map<Long, Product> prodMap = loadProducts(quantities.keySet());
+        for (Long productId : quantities.keySet()) {
+            if (!prodMap.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product not found: " + productId);
+            }
+        }
+
+        return quoteCache.get(quoteKey(user, quantities, prodMap),
+                key -> toQuote(orderContext(user, validateLines(quantities, prodMap, Map.of()))));
     }
 
     @Transactional(readOnly = true)
     public OrderEntity getOrderById(Long id) {
         log.info("Fetching order id={}", id);
 
-        OrderEntity order = orderRepository.findById(id)
+        OrderEntity order = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
 
         String username = Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
@@ -85,9 +248,88 @@ public class OrderServiceImpl implements com.example.service.OrderService {
         return order;
     }
 
+    /**
+     * Keyset page, newest first. The cursor is an opaque token for the last order of the previous page, so pages
+     * stay stable while new orders arrive and deep pages cost the same as the first one.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderEntity> getOrders(OrderFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        CursorPosition after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        List<OrderEntity> rows = orderRepository.findPage(filter,
+                after == null ? null : after.createdAt(), after == null ? null : after.id(), pageSize + 1);
+        List<OrderEntity> page = new ArrayList<>(rows.subList(0, Math.min(rows.size(), pageSize)));
+        fetchItems(page);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(page, null);
+        }
+        OrderEntity last = page.get(pageSize - 1);
+        return new CursorPage<>(page, encodeCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    /**
+     * Order history of one user, served from the (user_id, created_at) index.
+     */
     @Transactional(readOnly = true)
-    public List<OrderEntity> getAllOrders() {
-        return orderRepository.findAll();
+    public CursorPage<OrderEntity> getUserOrders(String username, String cursor, int limit) {
+        return getOrders(new OrderFilter(getUser(username).getId(), null, null), cursor, limit);
+    }
+
+    /**
+     * Hands every matching order to {@code sink} as it is read. Each order is detached once the sink returns,
+     * so the persistence context does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamOrders(OrderFilter filter, Consumer<OrderEntity> sink) {
+        try (Stream<OrderEntity> orders = orderRepository.streamOrders(filter)) {
+            orders.forEach(order -> {
+                sink.accept(order);
+                entityManager.detach(order);
+            });
+        }
+    }
+
+    /**
+     * Initializes the items of all {@code orders} with one query. The page query cannot fetch the collection
+     * itself without Hibernate applying the row limit in memory.
+     */
+    private void fetchItems(List<OrderEntity> orders) {
+        if (!orders.isEmpty()) {
+            orderRepository.findWithItemsByIdIn(orders.stream().map(OrderEntity::getId).toList());
+        }
+    }
+
+    /**
+     * The discount only depends on the roles and the subtotal, so users with the same roles share quotes.
+     */
+    private static String quoteKey(AppUser user, Map<Long, Integer> quantities, Map<Long, Product> prodMap) {
+        StringBuilder key = new StringBuilder(32 + quantities.size() * 16);
+        key.append(user.getRoles() == null ? Set.of() : new TreeSet<>(user.getRoles()));
+        quantities.forEach((productId, qty) -> {
+            key.append(';').append(productId).append('x').append(qty)
+                    .append('@').append(prodMap.get(productId).getVersion());
+        });
+        return key.toString();
+    }
+
+    private static String encodeCursor(Instant createdAt, Long id) {
+        String position = createdAt + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CursorPosition decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new CursorPosition(Instant.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
     }
 
     private AppUser getUser(String username) {
@@ -96,13 +338,17 @@ public class OrderServiceImpl implements com.example.service.OrderService {
     }
 
     private OrderContext prepareOrderContext(AppUser user, List<OrderRequest.Item> itemsReq) {
-        ValidationResult validation = validateItemsAndCalculateSubtotal(itemsReq);
+        return orderContext(user, validateItemsAndCalculateSubtotal(itemsReq));
+    }
+
+    private OrderContext orderContext(AppUser user, ValidationResult validation) {
         DiscountResult discount = calculateDiscount(user, validation.subtotal());
 
         OrderContext ctx = new OrderContext();
         ctx.user = user;
-        ctx.items = itemsReq;
+        ctx.quantities = validation.quantities();
         ctx.products = validation.products();
+        ctx.lineTotals = validation.lineTotals();
         ctx.subtotal = validation.subtotal();
         ctx.totalDiscount = discount.totalDiscount();
         ctx.orderTotal = discount.orderTotal();
@@ -110,86 +356,161 @@ public class OrderServiceImpl implements com.example.service.OrderService {
     }
 
     private ValidationResult validateItemsAndCalculateSubtotal(List<OrderRequest.Item> itemsReq) {
-        Map<Long, Product> prodMap = new HashMap<>();
-        BigDecimal subtotal = BigDecimal.ZERO;
-
-        for (OrderRequest.Item it : itemsReq) {
-            Product p = productRepository.findById(it.getProductId())
-                    .orElseThrow(() -> new RuntimeException("product.notfound:" + it.getProductId()));
+        Map<Long, Integer> quantities = mergeQuantities(itemsReq);
+        return validateLines(quantities, loadProducts(quantities.keySet()), Map.of());
+    }
 
+    /**
+     * @param claimed quantities already taken by earlier orders of the same batch, empty for a single order,
+     *                negative for units the caller already holds
+     */
+    private ValidationResult validateLines(Map<Long, Integer> quantities, Map<Long, Product> prodMap,
+            Map<Long, Integer> claimed) {
+        long[] lineTotals = new long[quantities.size()];
+        long subtotal = 0;
+        int index = 0;
+
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Long productId = line.getKey();
+            int qty = line.getValue();
+
+            Product p = prodMap.get(productId);
+            if (p == null) {
+                throw new RuntimeException("product.notfound:" + productId);
+            }
             if (p.isDeleted()) {
                 throw new ResourceNotFoundException("Product not available: " + p.getId());
             }
-            if (p.getQuantity() < it.getQuantity()) {
+            if (p.getQuantity() - claimed.getOrDefault(productId, 0) < qty) {
                 throw new InsufficientStockException("Insufficient stock for product: " + p.getId());
             }
 
-            prodMap.put(p.getId(), p);
-            subtotal = subtotal.add(
-                    p.getPrice().multiply(BigDecimal.valueOf(it.getQuantity()))
-            );
+            long lineTotal = Math.multiplyExact(Money.toMinorUnits(p.getPrice(), CURRENCY), qty);
+            lineTotals[index++] = lineTotal;
+            subtotal = Math.addExact(subtotal, lineTotal);
+        }
+
+        return new ValidationResult(quantities, prodMap, lineTotals, Money.ofMinor(subtotal, CURRENCY));
+    }
+
+    /**
+     * Collapses repeated product ids into a single line so stock is checked against the total requested quantity.
+     * Keeps the order in which products first appear in the request.
+     */
+    static Map<Long, Integer> mergeQuantities(List<OrderRequest.Item> itemsReq) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderRequest.Item it : itemsReq) {
+            Long productId = it.getProductId();
+            quantities.merge(productId, it.getQuantity(), (held, more) -> addQuantity(productId, held, more));
         }
+        return quantities;
+    }
 
-        return new ValidationResult(prodMap, subtotal);
+    /**
+     * Sum of two quantities of one product. A sum past {@code Integer.MAX_VALUE} is more than any stock level can
+     * hold, so it is rejected like any other shortage instead of wrapping to a negative quantity.
+     */
+    static int addQuantity(Long productId, int held, int more) {
+        try {
+            return Math.addExact(held, more);
+        } catch (ArithmeticException ex) {
+            throw new InsufficientStockException("Insufficient stock for product: " + productId);
+        }
     }
 
-    private DiscountResult calculateDiscount(AppUser user, BigDecimal subtotal) {
-        DiscountStrategy strategy = DiscountStrategyFactory.getStrategy(user, subtotal);
-        BigDecimal discount = strategy.calculate(subtotal, user);
-        BigDecimal total = subtotal.subtract(discount);
-        return new DiscountResult(discount, total);
+    private Map<Long, Product> loadProducts(Collection<Long> productIds) {
+        Map<Long, Product> prodMap = new HashMap<>(productIds.size() * 2);
+        List<Long> ids = new ArrayList<>(productIds);
+
+        for (int from = 0; from < ids.size(); from += PRODUCT_LOAD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + PRODUCT_LOAD_CHUNK_SIZE, ids.size()));
+            for (Product p : productRepository.findAllById(chunk)) {
+                prodMap.put(p.getId(), p);
+            }
+        }
+        return prodMap;
+    }
+
+    private DiscountResult calculateDiscount(AppUser user, Money subtotal) {
+        BigDecimal rawDiscount = discountStrategy.calculate(subtotal.toBigDecimal(), user);
+        // order_total and discount_applied are stored with two decimals, round the same way here
+        Money discount = Money.of(rawDiscount, CURRENCY, RoundingMode.HALF_UP);
+        return new DiscountResult(discount, subtotal.minus(discount));
     }
 
     private OrderEntity buildOrderAndUpdateStock(OrderContext ctx) {
+        OrderEntity order = buildOrder(ctx);
+        stockAllocator.reserve(ctx.quantities);
+        return order;
+    }
+
+    private OrderEntity buildOrder(OrderContext ctx) {
         OrderEntity order = new OrderEntity();
         order.setUserId(ctx.user.getId());
 
-        List<OrderItem> orderItems = new ArrayList<>();
+        // Line discounts always add up to the order discount, leftover cents go to the largest remainders
+        long[] lineDiscounts = ctx.totalDiscount.allocate(ctx.lineTotals);
+        int index = 0;
 
-        for (OrderRequest.Item it : ctx.items) {
-            Product p = ctx.products.get(it.getProductId());
-
-            BigDecimal line = p.getPrice()
-                    .multiply(BigDecimal.valueOf(it.getQuantity()));
-
-            BigDecimal lineDiscount = ctx.subtotal.compareTo(BigDecimal.ZERO) == 0
-                    ? BigDecimal.ZERO
-                    : line.multiply(ctx.totalDiscount)
-                    .divide(ctx.subtotal, 2, BigDecimal.ROUND_HALF_UP);
+        for (Map.Entry<Long, Integer> it : ctx.quantities.entrySet()) {
+            Product p = ctx.products.get(it.getKey());
+            long lineDiscount = lineDiscounts[index];
+            long lineTotal = ctx.lineTotals[index++];
 
             OrderItem oi = new OrderItem();
             oi.setProductId(p.getId());
-            oi.setQuantity(it.getQuantity());
+            oi.setQuantity(it.getValue());
             oi.setUnitPrice(p.getPrice());
-            oi.setDiscountApplied(lineDiscount);
-            oi.setTotalPrice(line.subtract(lineDiscount));
-            orderItems.add(oi);
-
-            // decrease stock
-            p.setQuantity(p.getQuantity() - it.getQuantity());
-            productRepository.save(p);
+            oi.setDiscountApplied(Money.toBigDecimal(lineDiscount, CURRENCY));
+            oi.setTotalPrice(Money.toBigDecimal(lineTotal - lineDiscount, CURRENCY));
+            order.addItem(oi);
         }
 
-        order.setItems(orderItems);
-        order.setOrderTotal(ctx.orderTotal);
+        order.setOrderTotal(ctx.orderTotal.toBigDecimal());
         return order;
     }
 
-    private record ValidationResult(Map<Long, Product> products, BigDecimal subtotal) {
+    private static OrderQuote toQuote(OrderContext ctx) {
+        long[] lineDiscounts = ctx.totalDiscount.allocate(ctx.lineTotals);
+        List<OrderQuote.Line> lines = new ArrayList<>(ctx.quantities.size());
+        int index = 0;
+
+        for (Map.Entry<Long, Integer> it : ctx.quantities.entrySet()) {
+            Product p = ctx.products.get(it.getKey());
+            long lineDiscount = lineDiscounts[index];
+            long lineTotal = ctx.lineTotals[index++];
+            lines.add(new OrderQuote.Line(p.getId(), it.getValue(), p.getPrice(),
+                    Money.toBigDecimal(lineDiscount, CURRENCY), Money.toBigDecimal(lineTotal - lineDiscount, CURRENCY)));
+        }
+
+        return new OrderQuote(ctx.subtotal.toBigDecimal(), ctx.totalDiscount.toBigDecimal(),
+                ctx.orderTotal.toBigDecimal(), List.copyOf(lines));
+    }
+
+    /**
+     * @param lineTotals price times quantity per line in minor units, in the iteration order of {@code quantities}
+     */
+    private record ValidationResult(Map<Long, Integer> quantities, Map<Long, Product> products,
+            long[] lineTotals, Money subtotal) {
+
+    }
+
+    private record CursorPosition(Instant createdAt, Long id) {
 
     }
 
-    private record DiscountResult(BigDecimal totalDiscount, BigDecimal orderTotal) {
+    private record DiscountResult(Money totalDiscount, Money orderTotal) {
 
     }
 
     private static class OrderContext {
 
         AppUser user;
-        List<OrderRequest.Item> items;
+        Map<Long, Integer> quantities;
         Map<Long, Product> products;
-        BigDecimal subtotal;
-        BigDecimal totalDiscount;
-        BigDecimal orderTotal;
+        long[] lineTotals;
+        Money subtotal;
+        Money totalDiscount;
+        Money orderTotal;
     }
 }
@@ -0,0 +1,245 @@
+package com.example.service.impl;
+
+import com.example.dto.ProductImportError;
+import com.example.dto.ProductImportReport;
+import com.example.entity.Product;
+import com.example.exception.InvalidImportException;
+import com.example.service.ProductImportService;
+import com.example.service.catalog.CatalogGeneration;
+import com.example.service.catalog.ProductSearchIndex;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk product import ({@code app.products.import.*}). The upload is read token by token with Jackson's streaming
+ * parser, only the current row is materialized as a tree. Valid rows are collected into chunks of
+ * {@code chunk-size}; each chunk is one transaction, inserted through Hibernate with a JDBC batch size of
+ * {@code jdbc-batch-size}, then flushed and cleared so the persistence context never holds more than one chunk.
+ * <p>
+ * A chunk the database refuses is retried row by row, so only the offending rows are rejected. Chunks commit
+ * independently: rows before a malformed part of the upload stay imported and the report says where it stopped.
+ * Imported products go into the search index and advance the catalog generation like single creates do.
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTx;
+    private final ProductSearchIndex searchIndex;
+    private final CatalogGeneration catalogGeneration;
+    private final int chunkSize;
+    private final int jdbcBatchSize;
+    private final int maxErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductImportServiceImpl(ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            ProductSearchIndex searchIndex,
+            CatalogGeneration catalogGeneration,
+            @Value("${app.products.import.chunk-size:1000}") int chunkSize,
+            @Value("${app.products.import.jdbc-batch-size:100}") int jdbcBatchSize,
+            @Value("${app.products.import.max-errors:1000}") int maxErrors) {
+        this.objectMapper = objectMapper;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.searchIndex = searchIndex;
+        this.catalogGeneration = catalogGeneration;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.jdbcBatchSize = Math.max(1, jdbcBatchSize);
+        this.maxErrors = Math.max(0, maxErrors);
+    }
+
+    public ProductImportReport importProducts(InputStream body) {
+        long started = System.nanoTime();
+        ProductImportReport report = new ProductImportReport();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken first = parser.nextToken();
+            boolean array = first == JsonToken.START_ARRAY;
+            if (!array && first != JsonToken.START_OBJECT) {
+                throw new InvalidImportException("Expected a JSON array or newline-delimited JSON objects");
+            }
+            // NDJSON is a sequence of root-level objects, which the parser reads one after another
+            JsonToken token = array ? parser.nextToken() : first;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                int index = report.getReceived();
+                long line = parser.currentTokenLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    report.setReceived(index + 1);
+                    reject(report, index, line, "Row must be a JSON object");
+                } else {
+                    JsonNode row = parser.readValueAsTree();
+                    report.setReceived(index + 1);
+                    String problem = validate(row);
+                    if (problem != null) {
+                        reject(report, index, line, problem);
+                    } else {
+                        chunk.add(ImportRow.of(index, line, row));
+                        if (chunk.size() == chunkSize) {
+                            insert(chunk, report);
+                        }
+                    }
+                }
+                token = parser.nextToken();
+            }
+            report.setCompleted(true);
+        } catch (JsonProcessingException ex) {
+            // The row at this position could not be read; nothing after it can be trusted
+            int index = report.getReceived();
+            long line = ex.getLocation() == null ? -1 : ex.getLocation().getLineNr();
+            if (index == 0) {
+                throw new InvalidImportException("Malformed JSON at line " + line);
+            }
+            report.setReceived(index + 1);
+            reject(report, index, line, "Malformed JSON, import stopped: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (!chunk.isEmpty()) {
+                insert(chunk, report);
+            }
+            report.setTookMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        log.info("Imported products received={} imported={} rejected={} completed={} tookMs={}",
+                report.getReceived(), report.getImported(), report.getRejected(), report.isCompleted(),
+                report.getTookMs());
+        return report;
+    }
+
+    private void insert(List<ImportRow> chunk, ProductImportReport report) {
+        try {
+            chunkTx.executeWithoutResult(status -> persist(chunk));
+            report.setImported(report.getImported() + chunk.size());
+        } catch (PersistenceException | DataAccessException ex) {
+            log.warn("Import chunk rolled back, retrying its {} rows one by one: {}", chunk.size(), ex.getMessage());
+            for (ImportRow row : chunk) {
+                try {
+                    chunkTx.executeWithoutResult(status -> persist(List.of(row)));
+                    report.setImported(report.getImported() + 1);
+                } catch (PersistenceException | DataAccessException rowEx) {
+                    reject(report, row.index(), row.line(), "Rejected by the database");
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private void persist(List<ImportRow> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Product p = row.toProduct();
+            entityManager.persist(p);
+            products.add(p);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        searchIndex.indexAllAfterCommit(products);
+        catalogGeneration.advanceAfterCommit();
+    }
+
+    private void reject(ProductImportReport report, int index, long line, String message) {
+        report.setRejected(report.getRejected() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(new ProductImportError(index, line, message));
+        }
+    }
+
+    /**
+     * The reason a row cannot be imported, or {@code null} when it can.
+     */
+    static String validate(JsonNode row) {
+        JsonNode name = row.get("name");
+        if (name == null || !name.isTextual() || name.asText().isBlank()) {
+            return "name is required";
+        }
+        if (name.asText().length() > MAX_TEXT_LENGTH) {
+            return "name is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        JsonNode description = row.get("description");
+        if (description != null && !description.isNull()
+                && (!description.isTextual() || description.asText().length() > MAX_TEXT_LENGTH)) {
+            return "description must be text of at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        BigDecimal price = decimal(row.get("price"));
+        if (price == null || price.signum() < 0 || price.stripTrailingZeros().scale() > 2) {
+            return "price must be a non-negative amount with at most 2 decimals";
+        }
+        JsonNode quantity = row.get("quantity");
+        if (quantity == null || !quantity.isIntegralNumber() || !quantity.canConvertToInt() || quantity.asInt() < 0) {
+            return "quantity must be a non-negative integer";
+        }
+        JsonNode available = row.get("available");
+        if (available != null && !available.isNull() && !available.isBoolean()) {
+            return "available must be true or false";
+        }
+        return null;
+    }
+
+    /**
+     * Prices may come as JSON numbers or as strings, the seed file uses strings.
+     */
+    private static BigDecimal decimal(JsonNode node) {
+        if (node == null || !(node.isNumber() || node.isTextual())) {
+            return null;
+        }
+        try {
+            return new BigDecimal(node.asText().trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * A validated row; the entity is created inside the transaction that inserts it, so a retried row starts from
+     * a fresh, unsaved product.
+     */
+    private record ImportRow(int index, long line, String name, String description, BigDecimal price, int quantity,
+            boolean available) {
+
+        static ImportRow of(int index, long line, JsonNode row) {
+            JsonNode description = row.get("description");
+            JsonNode available = row.get("available");
+            return new ImportRow(index, line, row.get("name").asText(),
+                    description == null || description.isNull() ? null : description.asText(),
+                    decimal(row.get("price")), row.get("quantity").asInt(),
+                    available == null || available.isNull() || available.asBoolean());
+        }
+
+        Product toProduct() {
+            Product p = new Product();
+            p.setName(name);
+            p.setDescription(description);
+            p.setPrice(price);
+            p.setQuantity(quantity);
+            p.setAvailable(available);
+            return p;
+        }
+    }
+}
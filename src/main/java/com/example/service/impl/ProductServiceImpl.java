@@ -1,47 +1,218 @@
 package com.example.service.impl;
 
+import com.example.dto.CursorPage;
 import com.example.entity.Product;
+import com.example.exception.InvalidCursorException;
+import com.example.exception.VersionRequiredException;
+import com.example.repository.ProductFilter;
 import com.example.repository.ProductRepository;
+import com.example.repository.ProductSort;
+import com.example.service.catalog.CatalogGeneration;
+import com.example.service.catalog.ProductCatalogCache;
+import com.example.service.catalog.ProductSearchIndex;
+import com.example.service.catalog.SearchResultCache;
+import com.example.service.outbox.OutboxWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
 @Service
 public class ProductServiceImpl implements com.example.service.ProductService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final ProductRepository repo;
+    private final OutboxWriter outboxWriter;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final SearchResultCache searchCache;
+    private final CatalogGeneration catalogGeneration;
 
-    public ProductServiceImpl(ProductRepository repo) {this.repo = repo;}
+    public ProductServiceImpl(ProductRepository repo, OutboxWriter outboxWriter, ProductCatalogCache catalogCache,
+            ProductSearchIndex searchIndex, SearchResultCache searchCache, CatalogGeneration catalogGeneration) {
+        this.repo = repo;
+        this.outboxWriter = outboxWriter;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.searchCache = searchCache;
+        this.catalogGeneration = catalogGeneration;
+    }
 
     public Product create(Product p) {
         log.info("Creating product name={}", p == null ? null : p.getName());
-        return repo.save(p);
+        Product saved = repo.save(p);
+        catalogCache.invalidateAfterCommit(saved.getId());
+        searchIndex.indexAfterCommit(saved);
+        catalogGeneration.advanceAfterCommit();
+        return saved;
     }
 
-    public Optional<Product> get(Long id) {return repo.findById(id).filter(q -> !q.isDeleted());}
+    /**
+     * Catalog fields come from the cache, quantity and version are read per call so orders never make it stale.
+     */
+    public Optional<Product> get(Long id) {
+        return catalogCache.get(id)
+                .filter(entry -> !entry.deleted())
+                .flatMap(entry -> repo.findStockState(id).map(entry::toProduct));
+    }
 
+    /**
+     * Pages are cached per parameters and catalog generation; a blank name is no name filter.
+     */
     public Page<Product> search(String name, BigDecimal min, BigDecimal max, Boolean available, Pageable pageable) {
-        return repo.search(name, min, max, available, pageable);
+        String trimmed = name == null || name.isBlank() ? null : name.trim();
+        return searchCache.get(trimmed, min, max, available, pageable,
+                () -> searchUncached(trimmed, min, max, available, pageable));
+    }
+
+    /**
+     * Name searches go through the trigram index, which answers with the matching ids in id order, the same order
+     * the unsorted table query returns; only the requested page is loaded. Sorted pages, names shorter than three
+     * characters and searches before the index is built use the database query.
+     */
+    private Page<Product> searchUncached(String name, BigDecimal min, BigDecimal max, Boolean available,
+            Pageable pageable) {
+        if (name == null || pageable.getSort().isSorted() || !searchIndex.canAnswer(name)) {
+            return repo.search(name, min, max, available, pageable);
+        }
+        long[] ids = searchIndex.search(name, min, max, available);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(load(ids, 0, ids.length), pageable, ids.length);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.length);
+        int to = Math.min(from + pageable.getPageSize(), ids.length);
+        return new PageImpl<>(load(ids, from, to), pageable, ids.length);
+    }
+
+    /**
+     * Like {@link #search} without the count, served from the trigram index when it can answer.
+     */
+    public Slice<Product> searchSlice(String name, BigDecimal min, BigDecimal max, Boolean available,
+            Pageable pageable) {
+        String trimmed = name == null || name.isBlank() ? null : name.trim();
+        if (trimmed == null || pageable.isUnpaged() || pageable.getSort().isSorted()
+                || !searchIndex.canAnswer(trimmed)) {
+            return repo.searchSlice(trimmed, min, max, available, pageable);
+        }
+        long[] ids = searchIndex.search(trimmed, min, max, available);
+        int from = (int) Math.min(pageable.getOffset(), ids.length);
+        int to = Math.min(from + pageable.getPageSize(), ids.length);
+        return new SliceImpl<>(load(ids, from, to), pageable, to < ids.length);
+    }
+
+    /**
+     * Keyset page ordered by {@code sort} then id. The cursor is an opaque token for the last product of the
+     * previous page, so a deep page costs the same as the first one. A cursor only continues the ordering it was
+     * issued for.
+     */
+    public CursorPage<Product> scroll(ProductFilter filter, ProductSort sort, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        CursorPosition after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, sort);
+        String name = filter.name() == null || filter.name().isBlank() ? null : filter.name().trim();
+        String prefix = filter.namePrefix() == null || filter.namePrefix().isEmpty() ? null : filter.namePrefix();
+        ProductFilter normalized = new ProductFilter(name, prefix, filter.minPrice(), filter.maxPrice(),
+                filter.available());
+
+        List<Product> rows = repo.findPage(normalized, sort,
+                after == null ? null : after.value(), after == null ? null : after.id(), pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Product> page = rows.subList(0, pageSize);
+        return new CursorPage<>(new ArrayList<>(page), encodeCursor(sort, page.get(pageSize - 1)));
     }
 
+    private List<Product> load(long[] ids, int from, int to) {
+        if (from == to) {
+            return List.of();
+        }
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(ids[i]);
+        }
+        List<Product> products = new ArrayList<>(repo.findAllById(pageIds));
+        products.sort(Comparator.comparing(Product::getId));
+        return products;
+    }
+
+    /**
+     * The update overwrites the quantity, so it must carry the version it was based on: a write without one could
+     * silently undo the stock taken by orders placed since the client read the product.
+     */
+    @Transactional
     public Product update(Long id, Product p) {
+        if (p.getVersion() == null) {
+            throw new VersionRequiredException("version is required, send back the version of the product you read");
+        }
         Product ex = repo.findById(id).orElseThrow(() -> new RuntimeException("product.notfound"));
+        // Orders in between bump the version, so reject stale writes
+        if (!p.getVersion().equals(ex.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, id);
+        }
         ex.setName(p.getName());
         ex.setDescription(p.getDescription());
         ex.setPrice(p.getPrice());
         ex.setQuantity(p.getQuantity());
-        return repo.save(ex);
+        Product saved = repo.save(ex);
+        outboxWriter.productUpdated(saved);
+        catalogCache.invalidateAfterCommit(id);
+        searchIndex.indexAfterCommit(saved);
+        catalogGeneration.advanceAfterCommit();
+        return saved;
     }
 
+    @Transactional
     public void softDelete(Long id) {
         repo.findById(id).ifPresent(pr -> {
             pr.setDeleted(true);
             repo.save(pr);
+            outboxWriter.productDeleted(pr);
+            catalogCache.invalidateAfterCommit(id);
+            searchIndex.removeAfterCommit(pr);
+            catalogGeneration.advanceAfterCommit();
         });
     }
+
+    private static String encodeCursor(ProductSort sort, Product last) {
+        Object value = sort == ProductSort.PRICE ? last.getPrice().toPlainString() : last.getNameNormalized();
+        // The value goes last, a name may contain the separator
+        String position = sort + CURSOR_SEPARATOR + last.getId() + CURSOR_SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CursorPosition decodeCursor(String cursor, ProductSort sort) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = position.indexOf(CURSOR_SEPARATOR);
+            int second = first < 0 ? -1 : position.indexOf(CURSOR_SEPARATOR, first + 1);
+            if (second < 0 || !position.substring(0, first).equals(sort.name())) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            Long id = Long.valueOf(position.substring(first + 1, second));
+            String value = position.substring(second + 1);
+            return new CursorPosition(sort == ProductSort.PRICE ? new BigDecimal(value) : value, id);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private record CursorPosition(Comparable<?> value, Long id) {
+
+    }
 }
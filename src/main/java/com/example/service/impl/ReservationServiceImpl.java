@@ -0,0 +1,248 @@
+package com.example.service.impl;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.OrderEntity;
+import com.example.entity.ReservationStatus;
+import com.example.entity.StockReservation;
+import com.example.exception.ReservationNotActiveException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.ProductRepository;
+import com.example.repository.ReservationDeadline;
+import com.example.repository.StockLevel;
+import com.example.repository.StockReservationRepository;
+import com.example.repository.UserRepository;
+import com.example.service.ReservationService;
+import com.example.service.inventory.StockAllocator;
+import com.example.service.reservation.HashedTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Timed stock holds. A hold takes its stock through the {@link StockAllocator} right away, so orders and other
+ * holds cannot oversell it, and gives it back when it is released or expires.
+ * <p>
+ * Expiry runs on a {@link HashedTimingWheel} instead of a timer per hold or a periodic table scan: every hold is
+ * put on the wheel once, each tick only touches the holds due in it. The wheel is in memory and rebuilt from the
+ * open holds at startup. Holds confirmed or released in the meantime stay on the wheel and are skipped when due.
+ */
+@Slf4j
+@Service
+public class ReservationServiceImpl implements ReservationService {
+
+    // Holds expired per transaction, their stock goes back in one batched update
+    private static final int EXPIRY_CHUNK_SIZE = 500;
+
+    private final StockReservationRepository reservationRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final StockAllocator stockAllocator;
+    private final OrderServiceImpl orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdDuration;
+    private final HashedTimingWheel wheel;
+
+    public ReservationServiceImpl(StockReservationRepository reservationRepository,
+            UserRepository userRepository,
+            ProductRepository productRepository,
+            StockAllocator stockAllocator,
+            OrderServiceImpl orderService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.reservations.hold-seconds:900}") long holdSeconds,
+            @Value("${app.reservations.wheel.tick-ms:1000}") long tickMs,
+            @Value("${app.reservations.wheel.ticks-per-wheel:512}") int ticksPerWheel) {
+        this.reservationRepository = reservationRepository;
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.stockAllocator = stockAllocator;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.holdDuration = Duration.ofSeconds(holdSeconds);
+        this.wheel = new HashedTimingWheel(tickMs, ticksPerWheel, System.currentTimeMillis());
+    }
+
+    @Override
+    @Transactional
+    public StockReservation hold(String username, List<OrderRequest.Item> itemsReq) {
+        AppUser user = getUser(username);
+
+        Map<Long, Integer> quantities = OrderServiceImpl.mergeQuantities(itemsReq);
+        // Both allocators report unknown products differently, so check them up front
+        Set<Long> known = productRepository.findStockLevels(quantities.keySet()).stream()
+                .map(StockLevel::getId)
+                .collect(Collectors.toSet());
+        for (Long productId : quantities.keySet()) {
+            if (!known.contains(productId)) {
+                throw new ResourceNotFoundException("Product not found: " + productId);
+            }
+        }
+        stockAllocator.reserve(quantities);
+
+        StockReservation reservation = new StockReservation();
+        reservation.setUserId(user.getId());
+        reservation.setQuantities(quantities);
+        reservation.setExpiresAt(Instant.now().plus(holdDuration));
+        reservation = reservationRepository.save(reservation);
+
+        scheduleAfterCommit(reservation.getId(), reservation.getExpiresAt());
+        log.info("Stock held id={} username={} itemsCount={} expiresAt={}",
+                reservation.getId(), username, quantities.size(), reservation.getExpiresAt());
+        return reservation;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockReservation getReservation(Long id, String username) {
+        return loadOwned(id, username);
+    }
+
+    /**
+     * Places the order through the regular order path, priced at the current prices. The held stock is used as is.
+     */
+    @Override
+    @Transactional
+    public OrderEntity confirm(Long id, String username) {
+        StockReservation reservation = loadOwned(id, username);
+        requireHeld(reservation);
+        // Past its deadline but not yet picked up by the wheel
+        if (!reservation.getExpiresAt().isAfter(Instant.now())) {
+            throw new ReservationNotActiveException("Reservation expired: " + id);
+        }
+
+        OrderEntity order = orderService.placeHeldOrder(username, reservation.getQuantities());
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setOrderId(order.getId());
+
+        log.info("Stock hold confirmed id={} orderId={}", id, order.getId());
+        return order;
+    }
+
+    @Override
+    @Transactional
+    public StockReservation release(Long id, String username) {
+        StockReservation reservation = loadOwned(id, username);
+        requireHeld(reservation);
+
+        reservation.setStatus(ReservationStatus.RELEASED);
+        stockAllocator.release(reservation.getQuantities());
+
+        log.info("Stock hold released id={}", id);
+        return reservation;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildWheel() {
+        AtomicLong holds = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ReservationDeadline> deadlines = reservationRepository.streamHeldDeadlines()) {
+                deadlines.forEach(d -> {
+                    wheel.schedule(d.getId(), d.getExpiresAt().toEpochMilli());
+                    holds.incrementAndGet();
+                });
+            }
+        });
+        log.info("Reservation expiry wheel rebuilt holds={}", holds.get());
+    }
+
+    /**
+     * Advances the wheel and expires the holds that came due. The wheel has already let go of them, so nothing that
+     * fails here may be dropped: a chunk that lost a race with a confirmation is put back on the wheel and
+     * re-checked on the next tick, and any other failure puts back that chunk and every chunk after it.
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.wheel.tick-ms:1000}")
+    public synchronized void expireDue() {
+        long now = System.currentTimeMillis();
+        List<Long> due = wheel.advance(now);
+
+        for (int from = 0; from < due.size(); from += EXPIRY_CHUNK_SIZE) {
+            List<Long> chunk = due.subList(from, Math.min(from + EXPIRY_CHUNK_SIZE, due.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(chunk));
+            } catch (OptimisticLockingFailureException ex) {
+                log.info("Reservation expiry conflicted, retrying next tick holds={}", chunk.size());
+                chunk.forEach(id -> wheel.schedule(id, now));
+            } catch (RuntimeException ex) {
+                List<Long> rest = due.subList(from, due.size());
+                log.warn("Reservation expiry failed, retrying next tick holds={}", rest.size(), ex);
+                rest.forEach(id -> wheel.schedule(id, now));
+                return;
+            }
+        }
+    }
+
+    private void expire(List<Long> ids) {
+        Instant now = Instant.now();
+        Map<Long, Integer> returned = new LinkedHashMap<>();
+        int expired = 0;
+
+        for (StockReservation reservation : reservationRepository.findWithQuantitiesByIdInAndStatus(ids,
+                ReservationStatus.HELD)) {
+            if (reservation.getExpiresAt().isAfter(now)) {
+                wheel.schedule(reservation.getId(), reservation.getExpiresAt().toEpochMilli());
+                continue;
+            }
+            reservation.setStatus(ReservationStatus.EXPIRED);
+            reservation.getQuantities().forEach((productId, qty) -> returned.merge(productId, qty, Integer::sum));
+            expired++;
+        }
+
+        if (!returned.isEmpty()) {
+            stockAllocator.release(returned);
+        }
+        log.debug("Stock holds expired count={} products={}", expired, returned.size());
+    }
+
+    private void scheduleAfterCommit(Long id, Instant expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            wheel.schedule(id, expiresAt.toEpochMilli());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wheel.schedule(id, expiresAt.toEpochMilli());
+            }
+        });
+    }
+
+    private StockReservation loadOwned(Long id, String username) {
+        StockReservation reservation = reservationRepository.findWithQuantitiesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
+        if (!reservation.getUserId().equals(getUser(username).getId())) {
+            throw new AccessDeniedException("You are not allowed to access this reservation");
+        }
+        return reservation;
+    }
+
+    private static void requireHeld(StockReservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.HELD) {
+            throw new ReservationNotActiveException(
+                    "Reservation is " + reservation.getStatus() + ": " + reservation.getId());
+        }
+    }
+
+    private AppUser getUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("user.notfound"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.service.impl;
+
+import com.example.dto.StockAdjustment;
+import com.example.dto.StockSyncError;
+import com.example.dto.StockSyncResult;
+import com.example.repository.ProductRepository;
+import com.example.repository.StockLevel;
+import com.example.service.StockSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Warehouse stock sync ({@code app.products.stock.chunk-size}). Adjustments are sorted by product id and applied
+ * in chunks, one transaction per chunk holding one batched UPDATE for the absolute quantities and one for the
+ * deltas; products are never loaded. The UPDATEs only match rows whose stock actually changes, so a sync that
+ * repeats the current counts writes nothing and leaves versions alone. Rows a batch did not touch are looked up in
+ * one query to tell an unchanged count from an unknown product or a delta that would leave the quantity range.
+ * <p>
+ * Chunks commit independently and lock their rows only for their own duration, so orders keep flowing during a
+ * large sync. Stock is not part of the cached catalog entries; search pages may show the old quantity until their
+ * TTL. In ledger inventory mode the ledger picks the new counts up on its next reconcile passes, as with any other
+ * change made to the table directly.
+ */
+@Slf4j
+@Service
+public class StockSyncServiceImpl implements StockSyncService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate chunkTx;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public StockSyncServiceImpl(ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.products.stock.chunk-size:1000}") int chunkSize,
+            @Value("${app.products.stock.max-errors:1000}") int maxErrors) {
+        this.productRepository = productRepository;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxErrors = Math.max(0, maxErrors);
+    }
+
+    public StockSyncResult sync(List<StockAdjustment> adjustments) {
+        long started = System.nanoTime();
+        StockSyncResult result = new StockSyncResult();
+        result.setReceived(adjustments.size());
+
+        List<Entry> valid = new ArrayList<>(adjustments.size());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustment a = adjustments.get(i);
+            String problem = validate(a);
+            if (problem == null && !seen.add(a.getProductId())) {
+                problem = "Duplicate productId";
+            }
+            if (problem != null) {
+                reject(result, i, a == null ? null : a.getProductId(), problem);
+            } else if (a.getDelta() != null && a.getDelta() == 0) {
+                result.setUnchanged(result.getUnchanged() + 1);
+            } else {
+                valid.add(new Entry(i, a));
+            }
+        }
+        // Id order, so two syncs running at once lock shared rows in the same order
+        valid.sort((x, y) -> Long.compare(x.productId(), y.productId()));
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Entry> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            chunkTx.executeWithoutResult(status -> apply(chunk, result));
+        }
+        result.setTookMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("Stock sync received={} changed={} unchanged={} rejected={} tookMs={}", result.getReceived(),
+                result.getChanged(), result.getUnchanged(), result.getRejected(), result.getTookMs());
+        return result;
+    }
+
+    private void apply(List<Entry> chunk, StockSyncResult result) {
+        Map<Long, Entry> absolute = new LinkedHashMap<>();
+        Map<Long, Entry> deltas = new LinkedHashMap<>();
+        for (Entry e : chunk) {
+            (e.isAbsolute() ? absolute : deltas).put(e.productId(), e);
+        }
+
+        List<Entry> untouched = new ArrayList<>();
+        collect(absolute, productRepository.setStock(values(absolute, Entry::quantity)), result, untouched);
+        collect(deltas, productRepository.adjustStock(values(deltas, Entry::delta)), result, untouched);
+        if (untouched.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> current = productRepository.findStockLevels(
+                        untouched.stream().map(Entry::productId).toList()).stream()
+                .collect(Collectors.toMap(StockLevel::getId, StockLevel::getQuantity));
+        for (Entry e : untouched) {
+            if (!current.containsKey(e.productId())) {
+                reject(result, e.index(), e.productId(), "Product not found");
+            } else if (e.isAbsolute()) {
+                result.setUnchanged(result.getUnchanged() + 1);
+            } else if (e.delta() < 0) {
+                reject(result, e.index(), e.productId(), "Stock would go below zero");
+            } else {
+                reject(result, e.index(), e.productId(), "Stock would exceed the maximum quantity");
+            }
+        }
+    }
+
+    private static void collect(Map<Long, Entry> entries, int[] updated, StockSyncResult result,
+            List<Entry> untouched) {
+        int i = 0;
+        for (Entry e : entries.values()) {
+            if (updated[i++] > 0) {
+                result.setChanged(result.getChanged() + 1);
+            } else {
+                untouched.add(e);
+            }
+        }
+    }
+
+    private static Map<Long, Integer> values(Map<Long, Entry> entries, Function<Entry, Integer> value) {
+        Map<Long, Integer> values = new LinkedHashMap<>(entries.size() * 2);
+        entries.forEach((id, e) -> values.put(id, value.apply(e)));
+        return values;
+    }
+
+    private void reject(StockSyncResult result, int index, Long productId, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new StockSyncError(index, productId, message));
+        }
+    }
+
+    private static String validate(StockAdjustment a) {
+        if (a == null || a.getProductId() == null) {
+            return "productId is required";
+        }
+        if ((a.getQuantity() == null) == (a.getDelta() == null)) {
+            return "Exactly one of quantity and delta is required";
+        }
+        if (a.getQuantity() != null && a.getQuantity() < 0) {
+            return "quantity must not be negative";
+        }
+        return null;
+    }
+
+    private record Entry(int index, StockAdjustment adjustment) {
+
+        Long productId() {
+            return adjustment.getProductId();
+        }
+
+        boolean isAbsolute() {
+            return adjustment.getQuantity() != null;
+        }
+
+        Integer quantity() {
+            return adjustment.getQuantity();
+        }
+
+        Integer delta() {
+            return adjustment.getDelta();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.service.inventory;
+
+import com.example.exception.InsufficientStockException;
+import com.example.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Default mode: the products table is the source of truth and every order decrements it directly.
+ */
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseStockAllocator implements StockAllocator {
+
+    private final ProductRepository productRepository;
+
+    public DatabaseStockAllocator(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Conditional decrement in a single batch: a line whose row count is 0 lost a race for the last units
+     * (or the product was deleted meanwhile), so the whole order fails and the transaction rolls back.
+     */
+    @Override
+    public void reserve(Map<Long, Integer> quantities) {
+        int[] updated = productRepository.decrementStock(quantities);
+
+        int i = 0;
+        for (Long productId : quantities.keySet()) {
+            if (updated[i++] == 0) {
+                throw new InsufficientStockException("Insufficient stock for product: " + productId);
+            }
+        }
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        productRepository.incrementStock(quantities);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.service.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reserves against the {@link StockLedger} and ties the reservation to the outcome of the surrounding
+ * transaction: committed orders are queued for write-behind, rolled back orders give their units back.
+ */
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "ledger")
+public class LedgerStockAllocator implements StockAllocator {
+
+    private final StockLedger ledger;
+
+    public LedgerStockAllocator(StockLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Override
+    public void reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> reserved = new LinkedHashMap<>(quantities);
+        ledger.reserve(reserved);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ledger.confirm(reserved);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    ledger.confirm(reserved);
+                } else {
+                    ledger.release(reserved);
+                }
+            }
+        });
+    }
+
+    /**
+     * Units only go back to the ledger once the releasing transaction committed.
+     */
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        Map<Long, Integer> released = new LinkedHashMap<>(quantities);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ledger.restore(released);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ledger.restore(released);
+            }
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.service.inventory;
+
+import java.util.Map;
+
+/**
+ * Takes stock for an order inside the caller's transaction.
+ * Implementations are selected with {@code app.inventory.mode}.
+ */
+public interface StockAllocator {
+
+    /**
+     * Reserves every line or none of them.
+     *
+     * @throws com.example.exception.InsufficientStockException when any product cannot cover its quantity
+     */
+    void reserve(Map<Long, Integer> quantities);
+
+    /**
+     * Returns quantities taken by an earlier, committed {@link #reserve} call, e.g. an expired stock hold.
+     */
+    void release(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,222 @@
+package com.example.service.inventory;
+
+import com.example.exception.InsufficientStockException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.ProductRepository;
+import com.example.repository.StockLevel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory available quantity per product for flash-sale traffic ({@code app.inventory.mode=ledger}).
+ * <p>
+ * Orders reserve against lock-free counters; committed reservations are collected as pending deltas and written
+ * back by {@link #flush()} as one batched UPDATE per interval. The table therefore lags the ledger by at most one
+ * flush interval, and {@link #reconcile()} corrects the ledger when the table was changed behind its back
+ * (admin edits, manual fixes).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.mode", havingValue = "ledger")
+public class StockLedger {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> hotProductIds;
+    private final int hotStripes;
+
+    private final ConcurrentMap<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+    // Reserved by an open transaction, not yet committed
+    private final ConcurrentMap<Long, LongAdder> inFlight = new ConcurrentHashMap<>();
+    // Committed, not yet written to the products table
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final Object maintenanceLock = new Object();
+    // Drift seen by the previous reconcile pass; only a drift that is stable across two passes gets corrected
+    private final Map<Long, Long> suspectedDrift = new HashMap<>();
+
+    public StockLedger(ProductRepository productRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.inventory.ledger.hot-product-ids:}") Set<Long> hotProductIds,
+            @Value("${app.inventory.ledger.hot-stripes:8}") int hotStripes) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.hotProductIds = Set.copyOf(hotProductIds);
+        this.hotStripes = hotStripes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (maintenanceLock) {
+            counters.clear();
+            inFlight.clear();
+            pending.clear();
+            suspectedDrift.clear();
+            List<StockLevel> levels = productRepository.findStockLevels();
+            for (StockLevel level : levels) {
+                counters.put(level.getId(), newCounter(level.getId(), level.getQuantity()));
+            }
+            log.info("Stock ledger rebuilt products={} hotProducts={}", levels.size(), hotProductIds.size());
+        }
+    }
+
+    /**
+     * Reserves all lines or none; on failure the lines already taken are handed back before throwing.
+     */
+    public void reserve(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> taken = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Long productId = line.getKey();
+            int qty = line.getValue();
+
+            adder(inFlight, productId).add(qty);
+            if (!counterFor(productId).tryTake(qty)) {
+                adder(inFlight, productId).add(-qty);
+                taken.forEach(t -> giveBack(t.getKey(), t.getValue()));
+                throw new InsufficientStockException("Insufficient stock for product: " + productId);
+            }
+            taken.add(line);
+        }
+    }
+
+    /**
+     * The reserving transaction committed: the quantities now wait for the next flush.
+     */
+    public void confirm(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, qty) -> {
+            adder(pending, productId).add(qty);
+            adder(inFlight, productId).add(-qty);
+        });
+    }
+
+    /**
+     * The reserving transaction rolled back: the quantities become available again.
+     */
+    public void release(Map<Long, Integer> quantities) {
+        quantities.forEach(this::giveBack);
+    }
+
+    /**
+     * Committed reservations handed back later: available again at once, the table is credited on the next flush.
+     */
+    public void restore(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, qty) -> {
+            counterFor(productId).add(qty);
+            adder(pending, productId).add(-qty);
+        });
+    }
+
+    public long available(Long productId) {
+        StripedCounter counter = counters.get(productId);
+        return counter == null ? 0 : counter.available();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.flush-interval-ms:200}")
+    public void flush() {
+        synchronized (maintenanceLock) {
+            flushPending();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.reconcile-interval-ms:60000}",
+            initialDelayString = "${app.inventory.ledger.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        synchronized (maintenanceLock) {
+            flushPending();
+
+            Set<Long> seen = new HashSet<>();
+            for (StockLevel level : productRepository.findStockLevels()) {
+                Long productId = level.getId();
+                StripedCounter counter = counters.get(productId);
+                if (counter == null) {
+                    continue;
+                }
+                seen.add(productId);
+
+                long expected = level.getQuantity() - sum(pending, productId) - sum(inFlight, productId);
+                long drift = expected - counter.available();
+                if (drift == 0) {
+                    suspectedDrift.remove(productId);
+                    continue;
+                }
+
+                Long previous = suspectedDrift.put(productId, drift);
+                if (previous != null && previous == drift) {
+                    counter.add(drift);
+                    suspectedDrift.remove(productId);
+                    log.warn("Stock ledger corrected productId={} drift={}", productId, drift);
+                }
+            }
+            suspectedDrift.keySet().retainAll(seen);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((productId, adder) -> {
+            long qty = adder.sumThenReset();
+            if (qty != 0) {
+                deltas.put(productId, qty);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> productRepository.subtractStock(deltas));
+            log.debug("Stock ledger flushed products={}", deltas.size());
+        } catch (RuntimeException ex) {
+            deltas.forEach((productId, qty) -> adder(pending, productId).add(qty));
+            log.error("Stock ledger flush failed, deltas kept for next run products={}", deltas.size(), ex);
+        }
+    }
+
+    private void giveBack(Long productId, int qty) {
+        counterFor(productId).add(qty);
+        adder(inFlight, productId).add(-qty);
+    }
+
+    private StripedCounter counterFor(Long productId) {
+        // Products created after startup are picked up on first use
+        return counters.computeIfAbsent(productId, id -> newCounter(id, productRepository.findById(id)
+                .filter(p -> !p.isDeleted())
+                .orElseThrow(() -> new ResourceNotFoundException("Product not available: " + id))
+                .getQuantity()));
+    }
+
+    private StripedCounter newCounter(Long productId, long quantity) {
+        return new StripedCounter(quantity, hotProductIds.contains(productId) ? hotStripes : 1);
+    }
+
+    private static LongAdder adder(ConcurrentMap<Long, LongAdder> map, Long productId) {
+        return map.computeIfAbsent(productId, id -> new LongAdder());
+    }
+
+    private static long sum(ConcurrentMap<Long, LongAdder> map, Long productId) {
+        LongAdder adder = map.get(productId);
+        return adder == null ? 0 : adder.sum();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.service.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-negative stock counter split over independent CAS cells so that hot products don't funnel every
+ * reservation through one cache line. With a single stripe it is a plain CAS counter.
+ */
+final class StripedCounter {
+
+    private final AtomicLong[] stripes;
+
+    StripedCounter(long initial, int stripeCount) {
+        int n = Math.max(1, stripeCount);
+        stripes = new AtomicLong[n];
+        long share = initial / n;
+        long rest = initial % n;
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new AtomicLong(share + (i < rest ? 1 : 0));
+        }
+    }
+
+    long available() {
+        long sum = 0;
+        for (AtomicLong s : stripes) {
+            sum += s.get();
+        }
+        return sum;
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Takes {@code qty} units or nothing. A stripe is never decremented below zero.
+     */
+    boolean tryTake(long qty) {
+        int n = stripes.length;
+        int start = n == 1 ? 0 : ThreadLocalRandom.current().nextInt(n);
+
+        // Fast path: one stripe covers the whole quantity
+        for (int i = 0; i < n; i++) {
+            AtomicLong s = stripes[(start + i) % n];
+            for (long cur = s.get(); cur >= qty; cur = s.get()) {
+                if (s.compareAndSet(cur, cur - qty)) {
+                    return true;
+                }
+            }
+        }
+        if (n == 1) {
+            return false;
+        }
+
+        // Slow path: collect from several stripes and hand everything back if the total falls short
+        long[] taken = new long[n];
+        long need = qty;
+        for (int i = 0; i < n && need > 0; i++) {
+            int idx = (start + i) % n;
+            AtomicLong s = stripes[idx];
+            for (long cur = s.get(); cur > 0; cur = s.get()) {
+                long t = Math.min(cur, need);
+                if (s.compareAndSet(cur, cur - t)) {
+                    taken[idx] += t;
+                    need -= t;
+                    break;
+                }
+            }
+        }
+        if (need == 0) {
+            return true;
+        }
+        for (int i = 0; i < n; i++) {
+            if (taken[i] > 0) {
+                stripes[i].addAndGet(taken[i]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds units back; a negative {@code qty} is only used by reconciliation and is clamped at zero per stripe.
+     */
+    void add(long qty) {
+        if (qty >= 0) {
+            int n = stripes.length;
+            stripes[n == 1 ? 0 : ThreadLocalRandom.current().nextInt(n)].addAndGet(qty);
+            return;
+        }
+        long remove = -qty;
+        for (AtomicLong s : stripes) {
+            for (long cur = s.get(); cur > 0 && remove > 0; cur = s.get()) {
+                long t = Math.min(cur, remove);
+                if (s.compareAndSet(cur, cur - t)) {
+                    remove -= t;
+                    break;
+                }
+            }
+        }
+    }
+}
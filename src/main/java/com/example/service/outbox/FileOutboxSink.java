@@ -0,0 +1,135 @@
+package com.example.service.outbox;
+
+import com.example.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Default sink: appends one JSON line per event to {@code outbox.ndjson} and forces it to disk before the relay
+ * deletes the batch. The file is rotated at {@code max-file-bytes}; only the newest {@code max-files} rotated files
+ * are kept. The directory defaults to {@code outbox} under the system temp directory; point
+ * {@code app.outbox.file.directory} at durable storage in production.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private static final String ACTIVE_FILE = "outbox.ndjson";
+    private static final String ROTATED_PREFIX = "outbox-";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    private FileChannel channel;
+
+    public FileOutboxSink(ObjectMapper objectMapper,
+            @Value("${app.outbox.file.directory:${java.io.tmpdir}/outbox}") String directory,
+            @Value("${app.outbox.file.max-file-bytes:67108864}") long maxFileBytes,
+            @Value("${app.outbox.file.max-files:10}") int maxFiles) {
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        try {
+            FileChannel out = channel();
+            ByteBuffer buffer = ByteBuffer.wrap(toLines(events));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+            if (out.size() >= maxFileBytes) {
+                rotate();
+            }
+        } catch (IOException ex) {
+            closeQuietly();
+            throw new UncheckedIOException("Could not write outbox events to " + directory, ex);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeQuietly();
+    }
+
+    private byte[] toLines(List<OutboxEvent> events) throws JsonProcessingException {
+        StringBuilder lines = new StringBuilder(events.size() * 128);
+        for (OutboxEvent event : events) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("id", event.getId());
+            line.put("type", event.getEventType());
+            line.put("aggregate", event.getAggregateType());
+            line.put("aggregateId", event.getAggregateId());
+            line.put("createdAt", event.getCreatedAt());
+            line.put("payload", objectMapper.readTree(event.getPayload()));
+            lines.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(ACTIVE_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        channel = null;
+        Path rotated = directory.resolve(ROTATED_PREFIX + Instant.now().toEpochMilli() + ".ndjson");
+        Files.move(directory.resolve(ACTIVE_FILE), rotated);
+        log.info("Outbox file rotated to {}", rotated);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> old = files
+                    .filter(p -> p.getFileName().toString().startsWith(ROTATED_PREFIX))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .skip(maxFiles)
+                    .toList();
+            for (Path p : old) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Could not close outbox file", ex);
+        }
+        channel = null;
+    }
+}
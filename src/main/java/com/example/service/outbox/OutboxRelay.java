@@ -0,0 +1,127 @@
+package com.example.service.outbox;
+
+import com.example.entity.OutboxEvent;
+import com.example.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves outbox events to the {@link OutboxSink} on a dedicated thread ({@code app.outbox.relay.enabled}).
+ * <p>
+ * Each round claims up to {@code batch-size} of the oldest rows with {@code FOR UPDATE SKIP LOCKED}, publishes
+ * them and deletes them in the same transaction, so relays on several instances never block on or publish the
+ * same rows. Full batches are followed by the next round immediately, the relay only sleeps once it caught up.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository repository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final Counter relayed;
+    private final Counter failures;
+
+    private Thread relay;
+    private volatile boolean running;
+
+    public OutboxRelay(OutboxEventRepository repository,
+            OutboxSink sink,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+            @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${app.outbox.relay.poll-interval-ms:200}") long pollIntervalMs) {
+        this.repository = repository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollIntervalMs = pollIntervalMs;
+        this.relayed = Counter.builder("outbox.relayed")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .description("Relay rounds that failed and left their batch in the outbox")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        relay = new Thread(this::relayLoop, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+        log.info("Outbox relay started batchSize={} pollIntervalMs={}", batchSize, pollIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (relay != null) {
+            relay.interrupt();
+        }
+    }
+
+    /**
+     * Claims, publishes and deletes one batch.
+     *
+     * @return number of events relayed, 0 when the outbox is empty
+     */
+    public int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = repository.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            sink.publish(batch);
+            repository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+            return batch.size();
+        });
+        relayed.increment(count);
+        return count;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                if (relayBatch() < batchSize) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.error("Outbox relay round failed, batch stays in the outbox", ex);
+                if (!sleepAfterFailure()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean sleepAfterFailure() {
+        try {
+            Thread.sleep(Math.max(pollIntervalMs, 1000));
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
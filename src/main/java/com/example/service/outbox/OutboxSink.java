@@ -0,0 +1,17 @@
+package com.example.service.outbox;
+
+import com.example.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events, selected with {@code app.outbox.sink}.
+ * Delivery is at least once: a batch is published again when the relay fails before deleting it.
+ */
+public interface OutboxSink {
+
+    /**
+     * Returns only once the batch is durable on the sink side; throwing keeps the events in the outbox.
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,103 @@
+package com.example.service.outbox;
+
+import com.example.entity.OrderEntity;
+import com.example.entity.OutboxEvent;
+import com.example.entity.Product;
+import com.example.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records change events in the outbox table. Must be called inside the transaction that makes the change, the
+ * event then commits or rolls back together with it. Payloads only carry what downstream consumers need.
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String ORDER_PLACED = "OrderPlaced";
+    public static final String PRODUCT_UPDATED = "ProductUpdated";
+    public static final String PRODUCT_DELETED = "ProductDeleted";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxWriter(OutboxEventRepository repository,
+            ObjectMapper objectMapper,
+            @Value("${app.outbox.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param orders already saved, so they carry their ids
+     */
+    public void ordersPlaced(List<OrderEntity> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return;
+        }
+        List<OutboxEvent> events = new ArrayList<>(orders.size());
+        for (OrderEntity order : orders) {
+            List<OrderLine> lines = order.getItems().stream()
+                    .map(item -> new OrderLine(item.getProductId(), item.getQuantity()))
+                    .toList();
+            events.add(event("order", order.getId(), ORDER_PLACED,
+                    new OrderPlaced(order.getId(), order.getUserId(), order.getOrderTotal(), lines)));
+        }
+        repository.saveAll(events);
+    }
+
+    public void orderPlaced(OrderEntity order) {
+        ordersPlaced(List.of(order));
+    }
+
+    public void productUpdated(Product product) {
+        if (enabled) {
+            repository.save(event("product", product.getId(), PRODUCT_UPDATED,
+                    new ProductChanged(product.getId(), product.getPrice(), product.getQuantity())));
+        }
+    }
+
+    public void productDeleted(Product product) {
+        if (enabled) {
+            repository.save(event("product", product.getId(), PRODUCT_DELETED,
+                    new ProductDeleted(product.getId())));
+        }
+    }
+
+    private OutboxEvent event(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", ex);
+        }
+        return event;
+    }
+
+    private record OrderPlaced(Long orderId, Long userId, BigDecimal orderTotal, List<OrderLine> items) {
+
+    }
+
+    private record OrderLine(Long productId, Integer quantity) {
+
+    }
+
+    private record ProductChanged(Long productId, BigDecimal price, Integer quantity) {
+
+    }
+
+    private record ProductDeleted(Long productId) {
+
+    }
+}
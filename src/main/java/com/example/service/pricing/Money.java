@@ -0,0 +1,181 @@
+package com.example.service.pricing;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Amount in minor units of a currency (cents for USD). Arithmetic is exact long math and fails on overflow
+ * instead of wrapping; {@link BigDecimal} is only produced at the entity/JSON boundary.
+ */
+public final class Money implements Comparable<Money> {
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more fraction digits than the currency
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(toMinorUnits(amount, currency), currency);
+    }
+
+    public static Money of(BigDecimal amount, Currency currency, RoundingMode rounding) {
+        return new Money(amount.setScale(currency.getDefaultFractionDigits(), rounding)
+                .unscaledValue().longValueExact(), currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * Minor units of an amount without creating a {@code Money}, for hot loops that work on plain longs.
+     *
+     * @throws ArithmeticException if {@code amount} has more fraction digits than the currency
+     */
+    public static long toMinorUnits(BigDecimal amount, Currency currency) {
+        return amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.UNNECESSARY)
+                .unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits, Currency currency) {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public Currency currency() {
+        return currency;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    /**
+     * Splits this amount proportionally to {@code weights} with the largest-remainder method: every share is
+     * rounded down, then the minor units left over go one each to the shares with the largest remainders
+     * (earlier index first on ties). The shares always add up to exactly this amount.
+     *
+     * @return share per weight, in minor units
+     */
+    public long[] allocate(long[] weights) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Cannot allocate a negative amount");
+        }
+        long totalWeight = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Allocation weights must not be negative");
+            }
+            totalWeight = Math.addExact(totalWeight, weight);
+        }
+
+        long[] shares = new long[weights.length];
+        if (minorUnits == 0) {
+            return shares;
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("Cannot allocate " + this + " over zero weights");
+        }
+
+        long[] remainders = new long[weights.length];
+        long allocated = 0;
+        for (int i = 0; i < weights.length; i++) {
+            long product;
+            try {
+                product = Math.multiplyExact(minorUnits, weights[i]);
+            } catch (ArithmeticException overflow) {
+                BigInteger[] qr = BigInteger.valueOf(minorUnits).multiply(BigInteger.valueOf(weights[i]))
+                        .divideAndRemainder(BigInteger.valueOf(totalWeight));
+                shares[i] = qr[0].longValueExact();
+                remainders[i] = qr[1].longValueExact();
+                allocated += shares[i];
+                continue;
+            }
+            shares[i] = product / totalWeight;
+            remainders[i] = product % totalWeight;
+            allocated += shares[i];
+        }
+
+        long leftover = minorUnits - allocated;
+        if (leftover == 0) {
+            return shares;
+        }
+        // leftover < weights.length, the cut-off is the smallest remainder that still gets a unit
+        long[] sorted = remainders.clone();
+        Arrays.sort(sorted);
+        long cutoff = sorted[sorted.length - (int) leftover];
+        for (int i = 0; i < shares.length && leftover > 0; i++) {
+            if (remainders[i] > cutoff) {
+                shares[i]++;
+                leftover--;
+            }
+        }
+        for (int i = 0; i < shares.length && leftover > 0; i++) {
+            if (remainders[i] == cutoff) {
+                shares[i]++;
+                leftover--;
+            }
+        }
+        return shares;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(minorUnits, currency);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+        return other;
+    }
+}
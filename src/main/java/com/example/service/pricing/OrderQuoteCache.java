@@ -0,0 +1,35 @@
+package com.example.service.pricing;
+
+import com.example.dto.OrderQuote;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of order quotes. Keys carry the version of every product in the cart, so a price or stock
+ * change makes the old entry unreachable and the TTL only bounds how long unreachable entries are kept.
+ */
+@Component
+public class OrderQuoteCache {
+
+    private final Cache<String, OrderQuote> quotes;
+
+    public OrderQuoteCache(@Value("${app.orders.quote.cache.max-entries:10000}") long maxEntries,
+            @Value("${app.orders.quote.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Failed quotes are not cached, {@code loader} exceptions reach the caller.
+     */
+    public OrderQuote get(String key, Function<String, OrderQuote> loader) {
+        return quotes.get(key, loader);
+    }
+}
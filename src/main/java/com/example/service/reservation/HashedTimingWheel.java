@@ -0,0 +1,107 @@
+package com.example.service.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel for id deadlines. A deadline lands in bucket {@code tick % size}, so scheduling is O(1) no
+ * matter how many timeouts are outstanding, and advancing one tick only looks at one bucket. Deadlines further
+ * out than one rotation stay in their bucket until the wheel comes round to their tick.
+ * <p>
+ * {@link #schedule} may be called from any thread, timeouts are handed over through a queue. {@link #advance}
+ * must only be called from one thread at a time. Cancelled timeouts are not removed; callers re-check the state
+ * of every id the wheel returns.
+ */
+public class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Timeout>[] buckets;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+
+    private long lastTick;
+
+    /**
+     * @param ticksPerWheel rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int ticksPerWheel, long startMillis) {
+        if (tickMillis <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickMillis and ticksPerWheel must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    public void schedule(long id, long deadlineMillis) {
+        // Round up so a timeout never fires before its deadline
+        incoming.add(new Timeout(id, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis)));
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis}.
+     *
+     * @return ids whose deadline has passed, in no particular order
+     */
+    public List<Long> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        transferIncoming();
+        if (nowTick <= lastTick) {
+            return List.of();
+        }
+
+        List<Long> expired = new ArrayList<>();
+        // A jump of a full rotation or more visits every bucket once
+        long ticks = Math.min(nowTick - lastTick, buckets.length);
+        for (long tick = lastTick + 1; tick <= lastTick + ticks; tick++) {
+            expireBucket(buckets[(int) (tick & mask)], nowTick, expired);
+        }
+        lastTick = nowTick;
+        return expired;
+    }
+
+    /**
+     * Timeouts scheduled but not yet returned by {@link #advance}.
+     */
+    public int size() {
+        int size = incoming.size();
+        for (List<Timeout> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            // Deadlines already behind the wheel go into the next bucket it visits
+            long tick = Math.max(timeout.deadlineTick, lastTick + 1);
+            buckets[(int) (tick & mask)].add(timeout);
+        }
+    }
+
+    private static void expireBucket(List<Timeout> bucket, long nowTick, List<Long> expired) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.deadlineTick <= nowTick) {
+                expired.add(timeout.id);
+            } else {
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    private record Timeout(long id, long deadlineTick) {
+
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderBatchIT extends IntegrationTestSupport {
+
+    @Test
+    void placeOrders_shouldReportResultPerOrder() throws Exception {
+        String body = """
+                {
+                  "orders": [
+                    { "items": [{ "productId": %1$d, "quantity": 4 }] },
+                    { "items": [{ "productId": %1$d, "quantity": 4 }] },
+                    { "items": [{ "productId": %1$d, "quantity": 4 }] },
+                    { "items": [{ "productId": 999999, "quantity": 1 }] }
+                  ]
+                }
+                """.formatted(productId);
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value("CONFIRMED"))
+                .andExpect(jsonPath("$[0].orderId").isNumber())
+                .andExpect(jsonPath("$[1].status").value("CONFIRMED"))
+                .andExpect(jsonPath("$[2].status").value("REJECTED"))
+                .andExpect(jsonPath("$[2].message").value("Insufficient stock for product: " + productId))
+                .andExpect(jsonPath("$[3].status").value("REJECTED"))
+                .andExpect(jsonPath("$[3].message").value("Product not found: 999999"));
+
+        assertEquals(2, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void placeOrders_emptyBatch_400() throws Exception {
+        mockMvc.perform(post("/api/orders/batch")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
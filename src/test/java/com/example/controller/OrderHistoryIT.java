@@ -0,0 +1,59 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderHistoryIT extends IntegrationTestSupport {
+
+    @Test
+    void getMyOrders_shouldOnlyReturnOwnOrders() throws Exception {
+        String premiumToken = loginAndGetToken("premium1");
+        Long ownOrder = placeOrder(premiumToken);
+        placeOrder(loginAndGetToken("user1"));
+
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/orders/mine")
+                        .header("Authorization", "Bearer " + premiumToken)
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertEquals(ownOrder, page.get("items").get(0).get("id").asLong());
+        Long premiumId = userRepository.findByUsername("premium1").orElseThrow().getId();
+        for (JsonNode order : page.get("items")) {
+            assertEquals(premiumId, order.get("userId").asLong());
+        }
+    }
+
+    @Test
+    void getUserOrders_adminOnly() throws Exception {
+        Long userId = userRepository.findByUsername("user1").orElseThrow().getId();
+
+        mockMvc.perform(get("/api/orders/users/{userId}", userId)
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/orders/users/{userId}", userId)
+                        .header("Authorization", "Bearer " + loginAndGetToken("admin1")))
+                .andExpect(status().isOk());
+    }
+
+    private Long placeOrder(String token) throws Exception {
+        String json = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":%d,\"quantity\":1}]}".formatted(productId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+}
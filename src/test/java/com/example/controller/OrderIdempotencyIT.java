@@ -0,0 +1,69 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderIdempotencyIT extends IntegrationTestSupport {
+
+    @Test
+    void placeOrder_sameIdempotencyKey_shouldCreateOneOrder() throws Exception {
+        String token = loginAndGetToken("user1");
+        String body = """
+                {
+                  "items": [{ "productId": %d, "quantity": 2 }]
+                }
+                """.formatted(productId);
+
+        String first = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", "order-" + productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", "order-" + productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode firstOrder = objectMapper.readTree(first);
+        JsonNode secondOrder = objectMapper.readTree(second);
+        assertEquals(firstOrder.get("id").asLong(), secondOrder.get("id").asLong());
+        assertEquals(8, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void placeOrder_reusedKeyWithDifferentBody_422() throws Exception {
+        String token = loginAndGetToken("user1");
+        String key = "reuse-" + productId;
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":%d,\"quantity\":1}]}".formatted(productId)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":%d,\"quantity\":3}]}".formatted(productId)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
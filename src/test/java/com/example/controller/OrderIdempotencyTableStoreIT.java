@@ -0,0 +1,66 @@
+package com.example.controller;
+
+import com.example.service.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.orders.idempotency.store=table")
+@AutoConfigureMockMvc
+class OrderIdempotencyTableStoreIT extends IntegrationTestSupport {
+
+    @Autowired private IdempotencyStore store;
+
+    @Test
+    void placeOrder_sameKey_shouldClaimOnceAndReplay() throws Exception {
+        String token = loginAndGetToken("user1");
+        String key = "table-" + productId;
+
+        JsonNode first = objectMapper.readTree(placeOrder(token, key, 200).getContentAsString());
+        MockHttpServletResponse second = placeOrder(token, key, 200);
+
+        assertEquals("true", second.getHeader("Idempotent-Replayed"));
+        assertEquals(first.get("id").asLong(), objectMapper.readTree(second.getContentAsString()).get("id").asLong());
+        assertEquals(8, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void placeOrder_keyClaimedByAnotherInstance_409WithoutOrder() throws Exception {
+        String key = "claimed-" + productId;
+        store.claim("user1:" + key, "other-instance");
+
+        placeOrder(loginAndGetToken("user1"), key, 409);
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void placeOrder_overlongOrNonAsciiKey_400WithoutOrder() throws Exception {
+        String token = loginAndGetToken("user1");
+
+        placeOrder(token, "k".repeat(65), 400);
+        placeOrder(token, "bad key", 400);
+        String longest = productId + "-" + "k".repeat(63);
+        placeOrder(token, longest.substring(0, 64), 200);
+
+        assertEquals(8, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    private MockHttpServletResponse placeOrder(String token, String key, int expectedStatus) throws Exception {
+        return mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":%d,\"quantity\":2}]}".formatted(productId)))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.orders.intake.mode=async")
+@AutoConfigureMockMvc
+class OrderIntakeIT extends IntegrationTestSupport {
+
+    @Test
+    void placeOrder_asyncMode_shouldReturn202AndConfirmViaStatusUrl() throws Exception {
+        String token = loginAndGetToken("user1");
+        String body = """
+                {
+                  "items": [{ "productId": %d, "quantity": 1 }]
+                }
+                """.formatted(productId);
+
+        MvcResult accepted = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andReturn();
+
+        String location = accepted.getResponse().getHeader("Location");
+        String status = "PENDING";
+        for (int i = 0; i < 100 && "PENDING".equals(status); i++) {
+            Thread.sleep(20);
+            String json = mockMvc.perform(get(location).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode node = objectMapper.readTree(json);
+            status = node.get("status").asText();
+        }
+        assertEquals("CONFIRMED", status);
+    }
+
+    @Test
+    void getStatus_otherUser_403() throws Exception {
+        String body = """
+                {
+                  "items": [{ "productId": %d, "quantity": 1 }]
+                }
+                """.formatted(productId);
+
+        String location = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location).header("Authorization", "Bearer " + loginAndGetToken("premium1")))
+                .andExpect(status().isForbidden());
+    }
+}
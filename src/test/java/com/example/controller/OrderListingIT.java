@@ -0,0 +1,114 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderListingIT extends IntegrationTestSupport {
+
+    @Test
+    void getOrders_shouldWalkAllPagesNewestFirst() throws Exception {
+        Instant since = Instant.now();
+        List<Long> newestFirst = placeOrders(5);
+        Collections.reverse(newestFirst);
+        String adminToken = loginAndGetToken("admin1");
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var req = get("/api/orders")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .param("userId", userId("user1").toString())
+                    .param("from", since.toString())
+                    .param("limit", "2");
+            if (cursor != null) {
+                req.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(req)
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(o -> seen.add(o.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(newestFirst, seen);
+    }
+
+    @Test
+    void getOrders_invalidCursor_400() throws Exception {
+        mockMvc.perform(get("/api/orders")
+                        .header("Authorization", "Bearer " + loginAndGetToken("admin1"))
+                        .param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamOrders_shouldWriteOneOrderPerLine() throws Exception {
+        Instant since = Instant.now();
+        List<Long> newestFirst = placeOrders(3);
+        Collections.reverse(newestFirst);
+
+        MvcResult started = mockMvc.perform(get("/api/orders")
+                        .header("Authorization", "Bearer " + loginAndGetToken("admin1"))
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("from", since.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> streamed = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode order = objectMapper.readTree(line);
+            assertTrue(order.get("items").size() > 0);
+            streamed.add(order.get("id").asLong());
+        }
+        assertEquals(newestFirst, streamed);
+    }
+
+    private List<Long> placeOrders(int count) throws Exception {
+        String token = loginAndGetToken("user1");
+        String body = """
+                {
+                  "items": [{ "productId": %d, "quantity": 1 }]
+                }
+                """.formatted(productId);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String json = mockMvc.perform(post("/api/orders")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(objectMapper.readTree(json).get("id").asLong());
+        }
+        return ids;
+    }
+
+    private Long userId(String username) {
+        return userRepository.findByUsername(username).orElseThrow().getId();
+    }
+}
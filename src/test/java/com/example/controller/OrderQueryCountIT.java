@@ -0,0 +1,90 @@
+package com.example.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read endpoints must cost a fixed number of queries, independent of how many orders and items they return.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.outbox.relay.enabled=false"
+})
+@AutoConfigureMockMvc
+class OrderQueryCountIT extends IntegrationTestSupport {
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getOrderById_shouldLoadOrderAndItemsInOneQuery() throws Exception {
+        Long orderId = placeOrder(loginAndGetToken("user1"));
+        String token = loginAndGetToken("user1");
+
+        Statistics stats = statistics();
+        stats.clear();
+        mockMvc.perform(get("/api/orders/{id}", orderId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+
+        // user + roles for the JWT filter, again for the ownership check, then the order joined with its items
+        assertEquals(5, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOrders_queryCountShouldNotGrowWithPageSize() throws Exception {
+        Instant since = Instant.now();
+        String userToken = loginAndGetToken("user1");
+        for (int i = 0; i < 6; i++) {
+            placeOrder(userToken);
+        }
+        String adminToken = loginAndGetToken("admin1");
+
+        long small = countListQueries(adminToken, since, 1);
+        long large = countListQueries(adminToken, since, 6);
+
+        assertEquals(small, large);
+        // user + roles for the JWT filter, the page of orders, then all their items in one query
+        assertEquals(4, large);
+    }
+
+    private long countListQueries(String token, Instant since, int limit) throws Exception {
+        Statistics stats = statistics();
+        stats.clear();
+        mockMvc.perform(get("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", since.toString())
+                        .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(limit))
+                .andExpect(jsonPath("$.items[0].items.length()").value(1));
+        return stats.getPrepareStatementCount();
+    }
+
+    private Long placeOrder(String token) throws Exception {
+        String json = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":%d,\"quantity\":1}]}".formatted(productId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.controller;
+
+import com.example.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderQuoteIT extends IntegrationTestSupport {
+
+    @Test
+    void quote_shouldPriceLikePlaceOrderWithoutTouchingStock() throws Exception {
+        String token = loginAndGetToken("premium1");
+        String body = "{\"items\":[{\"productId\":" + productId + ",\"quantity\":3}]}";
+
+        mockMvc.perform(post("/api/orders/quote")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subtotal").value(300.00))
+                .andExpect(jsonPath("$.discount").value(30.00))
+                .andExpect(jsonPath("$.orderTotal").value(270.00))
+                .andExpect(jsonPath("$.items[0].productId").value(productId))
+                .andExpect(jsonPath("$.items[0].totalPrice").value(270.00));
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderTotal").value(270.00));
+    }
+
+    @Test
+    void quote_afterPriceChange_shouldNotServeCachedPrice() throws Exception {
+        String token = loginAndGetToken("user1");
+        String body = "{\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}";
+
+        mockMvc.perform(post("/api/orders/quote")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderTotal").value(100.00));
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setPrice(new BigDecimal("80.00"));
+        productRepository.save(product);
+
+        mockMvc.perform(post("/api/orders/quote")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderTotal").value(80.00));
+    }
+
+    @Test
+    void quote_moreThanInStock_400() throws Exception {
+        mockMvc.perform(post("/api/orders/quote")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":" + productId + ",\"quantity\":11}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void placeOrder_hugeDuplicateLines_400AndStockUnchanged() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":%d,\"quantity\":1100000000},"
+                                .formatted(productId)
+                                + "{\"productId\":%d,\"quantity\":1100000000}]}".formatted(productId)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void quote_unknownProduct_404() throws Exception {
+        mockMvc.perform(post("/api/orders/quote")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":999999,\"quantity\":1}]}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductCacheIT extends IntegrationTestSupport {
+
+    @Test
+    void get_afterUpdateAndOrder_shouldShowNewCatalogFieldsAndCurrentStock() throws Exception {
+        String adminToken = loginAndGetToken("admin1");
+        JsonNode before = readProduct(adminToken);
+        readProduct(adminToken);
+
+        String patch = """
+                { "name": "RENAMED", "description": "TEST_DESC", "price": 120.00, "quantity": 10, "version": %d }
+                """.formatted(before.get("version").asLong());
+        mockMvc.perform(put("/api/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(patch))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("RENAMED"))
+                .andExpect(jsonPath("$.price").value(120.00));
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":" + productId + ",\"quantity\":3}]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("RENAMED"))
+                .andExpect(jsonPath("$.quantity").value(7));
+    }
+
+    @Test
+    void cacheMetrics_shouldBeExposedThroughActuator() throws Exception {
+        String token = loginAndGetToken("user1");
+        readProduct(token);
+        readProduct(token);
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:products").param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").isNumber());
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:products"))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode readProduct(String token) throws Exception {
+        String body = mockMvc.perform(get("/api/products/" + productId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
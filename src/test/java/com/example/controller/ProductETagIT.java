@@ -0,0 +1,137 @@
+package com.example.controller;
+
+import com.example.entity.Product;
+import com.example.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductETagIT extends IntegrationTestSupport {
+
+    @Autowired private ProductService productService;
+
+    @Test
+    void getProduct_matchingETag_304WithoutBody() throws Exception {
+        String token = loginAndGetToken("user1");
+        MockHttpServletResponse first = getProduct(token, null, null, 200);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\""));
+        assertNotNull(first.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertTrue(first.getHeader(HttpHeaders.CACHE_CONTROL).contains("private"));
+
+        MockHttpServletResponse notModified = getProduct(token, etag, null, 304);
+        assertEquals("", notModified.getContentAsString());
+        assertEquals(etag, notModified.getHeader(HttpHeaders.ETAG));
+
+        getProduct(token, null, first.getHeader(HttpHeaders.LAST_MODIFIED), 304);
+    }
+
+    @Test
+    void getProduct_afterStockChange_newETag() throws Exception {
+        String token = loginAndGetToken("user1");
+        String etag = getProduct(token, null, null, 200).getHeader(HttpHeaders.ETAG);
+
+        adjustStock(productId, -1);
+
+        MockHttpServletResponse changed = getProduct(token, etag, null, 200);
+        assertNotEquals(etag, changed.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void slice_afterStockChange_newETagRightAway() throws Exception {
+        String token = loginAndGetToken("user1");
+        String name = "Slice ETag " + productId;
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(new BigDecimal("3.00"));
+        p.setQuantity(5);
+        p.setAvailable(true);
+        Long sliced = productService.create(p).getId();
+
+        MockHttpServletResponse first = slice(token, name, null, 200);
+        assertTrue(first.getContentAsString().contains(name));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\""));
+        assertEquals(etag, slice(token, name, etag, 304).getHeader(HttpHeaders.ETAG));
+
+        adjustStock(sliced, -1);
+
+        assertNotEquals(etag, slice(token, name, etag, 200).getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void search_matchingWeakETag_304UntilCatalogChanges() throws Exception {
+        String token = loginAndGetToken("user1");
+        MockHttpServletResponse first = search(token, null, 200);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        assertTrue(etag.startsWith("W/\""));
+        assertEquals("", search(token, etag, 304).getContentAsString());
+
+        Product p = new Product();
+        p.setName("ETag lamp");
+        p.setPrice(new BigDecimal("12.00"));
+        p.setQuantity(1);
+        p.setAvailable(true);
+        productService.create(p);
+
+        assertNotEquals(etag, search(token, etag, 200).getHeader(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletResponse getProduct(String token, String ifNoneMatch, String ifModifiedSince,
+            int expectedStatus) throws Exception {
+        var req = get("/api/products/{id}", productId).header("Authorization", "Bearer " + token);
+        if (ifNoneMatch != null) {
+            req.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (ifModifiedSince != null) {
+            req.header(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+        }
+        return mockMvc.perform(req).andExpect(status().is(expectedStatus)).andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse search(String token, String ifNoneMatch, int expectedStatus) throws Exception {
+        return conditionalGet("/api/products", token, "lamp", ifNoneMatch, expectedStatus);
+    }
+
+    private MockHttpServletResponse slice(String token, String name, String ifNoneMatch, int expectedStatus)
+            throws Exception {
+        return conditionalGet("/api/products/slice", token, name, ifNoneMatch, expectedStatus);
+    }
+
+    private MockHttpServletResponse conditionalGet(String path, String token, String name, String ifNoneMatch,
+            int expectedStatus) throws Exception {
+        var req = get(path).header("Authorization", "Bearer " + token).param("name", name);
+        if (ifNoneMatch != null) {
+            req.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(req).andExpect(status().is(expectedStatus)).andReturn().getResponse();
+    }
+
+    private void adjustStock(Long id, int delta) throws Exception {
+        mockMvc.perform(patch("/api/products/stock")
+                        .header("Authorization", "Bearer " + loginAndGetToken("admin1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"adjustments\": [{\"productId\": %d, \"delta\": %d}]}"
+                                .formatted(id, delta)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.products.import.chunk-size=2")
+@AutoConfigureMockMvc
+class ProductImportIT extends IntegrationTestSupport {
+
+    @Test
+    void importNdjson_shouldInsertValidRowsAndReportRejectedOnes() throws Exception {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        String body = """
+                {"name": "Lamp %1$s", "price": 19.99, "quantity": 5}
+                {"name": "Desk %1$s", "price": "120.00", "quantity": 2, "available": false}
+                {"name": "", "price": 1, "quantity": 1}
+                {"name": "Chair %1$s", "price": 45.5, "quantity": 7, "description": "oak"}
+                {"name": "Rug %1$s", "price": 1.999, "quantity": 1}
+                """.formatted(tag);
+
+        JsonNode report = importAs("admin1", MediaType.APPLICATION_NDJSON, body);
+
+        assertEquals(5, report.get("received").asInt());
+        assertEquals(3, report.get("imported").asInt());
+        assertEquals(2, report.get("rejected").asInt());
+        assertTrue(report.get("completed").asBoolean());
+        assertEquals(List.of(2, 4), errorIndexes(report));
+        assertEquals(3, report.get("errors").get(0).get("line").asInt());
+
+        JsonNode page = search(tag);
+        assertEquals(3, page.get("totalElements").asInt());
+    }
+
+    @Test
+    void importJsonArray_malformedTail_shouldKeepRowsBeforeIt() throws Exception {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        String body = """
+                [
+                  {"name": "Kettle %1$s", "price": 30, "quantity": 1},
+                  {"name": "Mug %1$s", "price": 4, "quantity": 10},
+                  {"name": "Bowl %1$s", "price": 7, "quantity": 3},
+                  {"name": "Plate %1$s", "price": 6, "quantity":
+                """.formatted(tag);
+
+        JsonNode report = importAs("admin1", MediaType.APPLICATION_JSON, body);
+
+        assertFalse(report.get("completed").asBoolean());
+        assertEquals(3, report.get("imported").asInt());
+        assertEquals(List.of(3), errorIndexes(report));
+        assertEquals(3, search(tag).get("totalElements").asInt());
+    }
+
+    @Test
+    void import_notJson_400() throws Exception {
+        String token = loginAndGetToken("admin1");
+
+        mockMvc.perform(post("/api/products/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("name,price\nLamp,10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void import_asUser_403() throws Exception {
+        String token = loginAndGetToken("user1");
+
+        mockMvc.perform(post("/api/products/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"Lamp\", \"price\": 1, \"quantity\": 1}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode importAs(String username, MediaType type, String body) throws Exception {
+        String token = loginAndGetToken(username);
+        return objectMapper.readTree(mockMvc.perform(post("/api/products/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(type)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode search(String name) throws Exception {
+        String token = loginAndGetToken("user1");
+        return objectMapper.readTree(mockMvc.perform(get("/api/products")
+                        .header("Authorization", "Bearer " + token)
+                        .param("name", name))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static List<Integer> errorIndexes(JsonNode report) {
+        List<Integer> indexes = new ArrayList<>();
+        report.get("errors").forEach(e -> indexes.add(e.get("index").asInt()));
+        return indexes;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.controller;
+
+import com.example.entity.Product;
+import com.example.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductScrollIT extends IntegrationTestSupport {
+
+    @Autowired private ProductService productService;
+
+    private String tag;
+    private final List<Long> byPrice = new ArrayList<>();
+    private final List<Long> byName = new ArrayList<>();
+
+    @BeforeEach
+    void createProducts() {
+        tag = UUID.randomUUID().toString().substring(0, 8);
+        // Two price ties, so the id has to break them
+        Long c = create("C " + tag, "30.00");
+        Long a = create("A " + tag, "20.00");
+        Long e = create("E " + tag, "20.00");
+        Long b = create("B " + tag, "10.00");
+        Long d = create("D " + tag, "30.00");
+        byPrice.addAll(List.of(b, a, e, c, d));
+        byName.addAll(List.of(a, b, c, d, e));
+    }
+
+    @Test
+    void scroll_shouldWalkAllPagesInPriceThenIdOrder() throws Exception {
+        assertEquals(byPrice, walk("PRICE"));
+    }
+
+    @Test
+    void scroll_shouldWalkAllPagesInNameOrder() throws Exception {
+        assertEquals(byName, walk("NAME"));
+    }
+
+    @Test
+    void scroll_namePrefix_shouldMatchStartOfNameIgnoringCase() throws Exception {
+        String token = loginAndGetToken("user1");
+
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/products/scroll")
+                        .header("Authorization", "Bearer " + token)
+                        .param("name", tag)
+                        .param("namePrefix", "b " + tag.toUpperCase())
+                        .param("sort", "NAME"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertEquals(1, page.get("items").size());
+        assertEquals(byName.get(1), page.get("items").get(0).get("id").asLong());
+    }
+
+    @Test
+    void scroll_cursorOfOtherOrdering_400() throws Exception {
+        String token = loginAndGetToken("user1");
+        JsonNode first = page(token, "PRICE", null);
+
+        mockMvc.perform(get("/api/products/scroll")
+                        .header("Authorization", "Bearer " + token)
+                        .param("sort", "NAME")
+                        .param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/scroll")
+                        .header("Authorization", "Bearer " + token)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/scroll")
+                        .header("Authorization", "Bearer " + token)
+                        .param("sort", "RATING"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void slice_shouldReportNextPageWithoutTotal() throws Exception {
+        String token = loginAndGetToken("user1");
+
+        JsonNode first = slice(token, 0);
+        JsonNode last = slice(token, 2);
+
+        assertEquals(2, first.get("content").size());
+        assertFalse(first.get("last").asBoolean());
+        assertFalse(first.has("totalElements"));
+        assertEquals(1, last.get("content").size());
+        assertTrue(last.get("last").asBoolean());
+    }
+
+    private List<Long> walk(String sort) throws Exception {
+        String token = loginAndGetToken("user1");
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page(token, sort, cursor);
+            page.get("items").forEach(p -> seen.add(p.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private JsonNode page(String token, String sort, String cursor) throws Exception {
+        var req = get("/api/products/scroll")
+                .header("Authorization", "Bearer " + token)
+                .param("name", tag)
+                .param("sort", sort)
+                .param("limit", "2");
+        if (cursor != null) {
+            req.param("cursor", cursor);
+        }
+        return objectMapper.readTree(mockMvc.perform(req)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode slice(String token, int page) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/products/slice")
+                        .header("Authorization", "Bearer " + token)
+                        .param("name", tag)
+                        .param("page", String.valueOf(page))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private Long create(String name, String price) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(new BigDecimal(price));
+        p.setQuantity(1);
+        p.setAvailable(true);
+        return productService.create(p).getId();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.controller;
+
+import com.example.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductSearchIT extends IntegrationTestSupport {
+
+    @Test
+    void search_shouldFollowCreateRenameAndDelete() throws Exception {
+        String token = loginAndGetToken("admin1");
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+
+        String created = mockMvc.perform(post("/api/products/create")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "name": "Lamp %s", "price": 20.00, "quantity": 5, "available": true }
+                                """.formatted(tag)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Product product = objectMapper.readValue(created, Product.class);
+
+        expectHits(token, "LAMP " + tag, 1);
+        expectHits(token, "lamp " + tag + "&minPrice=25", 0);
+
+        mockMvc.perform(put("/api/products/" + product.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "name": "Desk %s", "price": 20.00, "quantity": 5, "version": %d }
+                                """.formatted(tag, product.getVersion())))
+                .andExpect(status().isOk());
+
+        expectHits(token, "lamp " + tag, 0);
+        expectHits(token, "desk " + tag, 1);
+
+        mockMvc.perform(delete("/api/products/" + product.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        expectHits(token, "desk " + tag, 0);
+    }
+
+    private void expectHits(String token, String query, int hits) throws Exception {
+        mockMvc.perform(get("/api/products?name=" + query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(hits));
+    }
+}
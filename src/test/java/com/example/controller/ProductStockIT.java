@@ -0,0 +1,127 @@
+package com.example.controller;
+
+import com.example.entity.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.products.stock.chunk-size=2")
+@AutoConfigureMockMvc
+class ProductStockIT extends IntegrationTestSupport {
+
+    @Test
+    void syncStock_shouldWriteChangedRowsOnly() throws Exception {
+        Long a = create(10);
+        Long b = create(5);
+        Long c = create(3);
+        Long d = create(7);
+        long versionOfB = productRepository.findById(b).orElseThrow().getVersion();
+
+        JsonNode result = sync("admin1", """
+                {"adjustments": [
+                  {"productId": %d, "quantity": 25},
+                  {"productId": %d, "quantity": 5},
+                  {"productId": %d, "delta": -2},
+                  {"productId": %d, "delta": -8},
+                  {"productId": 987654321, "quantity": 1},
+                  {"productId": %d, "quantity": 1, "delta": 1},
+                  {"productId": %d, "quantity": 30}
+                ]}
+                """.formatted(a, b, c, d, d, a));
+
+        assertEquals(7, result.get("received").asInt());
+        assertEquals(2, result.get("changed").asInt());
+        assertEquals(1, result.get("unchanged").asInt());
+        assertEquals(4, result.get("rejected").asInt());
+        Map<Integer, String> errors = new HashMap<>();
+        result.get("errors").forEach(e -> errors.put(e.get("index").asInt(), e.get("message").asText()));
+        assertEquals(Map.of(
+                3, "Stock would go below zero",
+                4, "Product not found",
+                5, "Exactly one of quantity and delta is required",
+                6, "Duplicate productId"), errors);
+
+        assertEquals(25, productRepository.findById(a).orElseThrow().getQuantity());
+        assertEquals(versionOfB, productRepository.findById(b).orElseThrow().getVersion());
+        assertEquals(1, productRepository.findById(c).orElseThrow().getQuantity());
+        assertEquals(7, productRepository.findById(d).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void syncStock_deltaPastIntRange_shouldRejectOnlyThatRow() throws Exception {
+        Long a = create(10);
+        Long b = create(10);
+        Long c = create(10);
+
+        JsonNode result = sync("admin1", """
+                {"adjustments": [
+                  {"productId": %d, "delta": 1},
+                  {"productId": %d, "delta": 2147483647},
+                  {"productId": %d, "delta": -2147483648}
+                ]}
+                """.formatted(a, b, c));
+
+        assertEquals(1, result.get("changed").asInt());
+        assertEquals(2, result.get("rejected").asInt());
+        Map<Integer, String> errors = new HashMap<>();
+        result.get("errors").forEach(e -> errors.put(e.get("index").asInt(), e.get("message").asText()));
+        assertEquals(Map.of(
+                1, "Stock would exceed the maximum quantity",
+                2, "Stock would go below zero"), errors);
+
+        assertEquals(11, productRepository.findById(a).orElseThrow().getQuantity());
+        assertEquals(10, productRepository.findById(b).orElseThrow().getQuantity());
+        assertEquals(10, productRepository.findById(c).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void syncStock_emptyList_400() throws Exception {
+        String token = loginAndGetToken("admin1");
+
+        mockMvc.perform(patch("/api/products/stock")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"adjustments\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void syncStock_asUser_403() throws Exception {
+        String token = loginAndGetToken("user1");
+
+        mockMvc.perform(patch("/api/products/stock")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"adjustments\": [{\"productId\": %d, \"quantity\": 1}]}".formatted(productId)))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode sync(String username, String body) throws Exception {
+        String token = loginAndGetToken(username);
+        return objectMapper.readTree(mockMvc.perform(patch("/api/products/stock")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private Long create(int quantity) {
+        Product p = new Product();
+        p.setName("Stock product");
+        p.setPrice(new BigDecimal("10.00"));
+        p.setQuantity(quantity);
+        p.setAvailable(true);
+        return productRepository.save(p).getId();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.controller;
+
+import com.example.entity.Product;
+import com.example.entity.ReservationStatus;
+import com.example.entity.StockReservation;
+import com.example.repository.StockReservationRepository;
+import com.example.service.impl.ReservationServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.reservations.hold-seconds=1",
+        "app.reservations.wheel.tick-ms=100"
+})
+@AutoConfigureMockMvc
+class ReservationExpiryIT extends IntegrationTestSupport {
+
+    @Autowired private StockReservationRepository reservationRepository;
+    @Autowired private ReservationServiceImpl reservationService;
+
+    @Test
+    void expiredHold_shouldReturnStockAndRefuseConfirmation() throws Exception {
+        String token = loginAndGetToken("user1");
+        String response = mockMvc.perform(post("/api/reservations")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":" + productId + ",\"quantity\":4}]}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long id = objectMapper.readTree(response).get("id").asLong();
+        assertEquals(6, productRepository.findById(productId).orElseThrow().getQuantity());
+
+        awaitStatus(id, ReservationStatus.EXPIRED);
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+        mockMvc.perform(post("/api/reservations/" + id + "/confirm")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void rebuildWheel_shouldExpireHoldsPersistedBeforeRestart() throws Exception {
+        // A hold taken before a restart: the stock is gone from the product, the wheel does not know the hold
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setQuantity(7);
+        productRepository.save(product);
+
+        StockReservation reservation = new StockReservation();
+        reservation.setUserId(userRepository.findByUsername("user1").orElseThrow().getId());
+        reservation.setQuantities(Map.of(productId, 3));
+        reservation.setExpiresAt(Instant.now().minusSeconds(60));
+        Long id = reservationRepository.save(reservation).getId();
+
+        reservationService.rebuildWheel();
+        awaitStatus(id, ReservationStatus.EXPIRED);
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    private void awaitStatus(Long id, ReservationStatus expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (reservationRepository.findById(id).orElseThrow().getStatus() != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, reservationRepository.findById(id).orElseThrow().getStatus());
+    }
+}
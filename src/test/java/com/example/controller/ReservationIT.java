@@ -0,0 +1,127 @@
+package com.example.controller;
+
+import com.example.dto.OrderRequest;
+import com.example.exception.InsufficientStockException;
+import com.example.service.ReservationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReservationIT extends IntegrationTestSupport {
+
+    @Autowired private ReservationService reservationService;
+
+    @Test
+    void hold_thenConfirm_shouldTakeStockOnceAndPlaceTheOrder() throws Exception {
+        String token = loginAndGetToken("premium1");
+        long id = hold(token, 4);
+
+        assertEquals(6, productRepository.findById(productId).orElseThrow().getQuantity());
+
+        mockMvc.perform(post("/api/reservations/" + id + "/confirm")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.orderTotal").value(360.00))
+                .andExpect(jsonPath("$.items[0].quantity").value(4));
+
+        assertEquals(6, productRepository.findById(productId).orElseThrow().getQuantity());
+
+        mockMvc.perform(get("/api/reservations/" + id)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"))
+                .andExpect(jsonPath("$.orderId").isNumber());
+
+        mockMvc.perform(post("/api/reservations/" + id + "/confirm")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void release_shouldReturnTheStock() throws Exception {
+        String token = loginAndGetToken("user1");
+        long id = hold(token, 3);
+
+        mockMvc.perform(delete("/api/reservations/" + id)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RELEASED"));
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+
+        mockMvc.perform(post("/api/reservations/" + id + "/confirm")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void hold_moreThanInStock_400() throws Exception {
+        mockMvc.perform(post("/api/reservations")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":" + productId + ",\"quantity\":11}]}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void hold_duplicateLinesPastIntRange_shouldRejectWithStockUnchanged() {
+        OrderRequest.Item line = new OrderRequest.Item();
+        line.setProductId(productId);
+        line.setQuantity(1_100_000_000);
+
+        assertThrows(InsufficientStockException.class,
+                () -> reservationService.hold("user1", List.of(line, line)));
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void hold_unknownProduct_404() throws Exception {
+        mockMvc.perform(post("/api/reservations")
+                        .header("Authorization", "Bearer " + loginAndGetToken("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":987654321,\"quantity\":1}]}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void confirm_someoneElsesHold_403() throws Exception {
+        long id = hold(loginAndGetToken("user1"), 1);
+
+        mockMvc.perform(post("/api/reservations/" + id + "/confirm")
+                        .header("Authorization", "Bearer " + loginAndGetToken("premium1")))
+                .andExpect(status().isForbidden());
+    }
+
+    private long hold(String token, int quantity) throws Exception {
+        String response = mockMvc.perform(post("/api/reservations")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":" + productId + ",\"quantity\":" + quantity + "}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("HELD"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        return node.get("id").asLong();
+    }
+}
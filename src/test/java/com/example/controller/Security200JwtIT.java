@@ -5,6 +5,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -91,9 +92,10 @@ class Security200JwtIT extends IntegrationTestSupport {
                   "description": "UPDATED_DESC",
                   "price": 120,
                   "quantity": 20,
-                  "available": true
+                  "available": true,
+                  "version": %d
                 }
-                """;
+                """.formatted(productRepository.findById(productId).orElseThrow().getVersion());
 
         mockMvc.perform(put("/api/products/{id}", productId)
                         .header("Authorization", "Bearer " + loginAndGetToken("admin1"))
@@ -102,6 +104,17 @@ class Security200JwtIT extends IntegrationTestSupport {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void updateProduct_withoutVersion_400() throws Exception {
+        mockMvc.perform(put("/api/products/{id}", productId)
+                        .header("Authorization", "Bearer " + loginAndGetToken("admin1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"name\": \"UPDATED\", \"price\": 120, \"quantity\": 20 }"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
     @Test
     void deleteProduct_ADMIN_200() throws Exception {
         mockMvc.perform(delete("/api/products/{id}", productId)
@@ -0,0 +1,97 @@
+package com.example.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that H2 plans the SQL shapes of the product, user and order queries with the declared indexes rather than
+ * a table scan. The statements mirror what Hibernate generates for {@link ProductRepository},
+ * {@link ProductRepositoryCustomImpl}, {@link UserRepository} and {@link OrderRepository}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:index-plans;DB_CLOSE_DELAY=-1")
+class IndexPlanIT {
+
+    private static final int PRODUCTS = 5_000;
+    private static final long FIRST_ID = 10_000_000L;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void fillTables() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE id >= ?", Long.class, FIRST_ID) > 0) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            String name = "Product " + i;
+            products.add(new Object[]{FIRST_ID + i, name, name.toLowerCase(), 1 + i % 500, i % 3 != 0, now, now});
+            orders.add(new Object[]{FIRST_ID + i, 1 + i % 100, now});
+            items.add(new Object[]{FIRST_ID + i, FIRST_ID + i, FIRST_ID + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, name_normalized, price, quantity, available, "
+                + "deleted, created_at, updated_at, version) VALUES (?, ?, ?, ?, 10, ?, false, ?, ?, 0)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, user_id, created_at) VALUES (?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_item (id, order_id, product_id, quantity) VALUES (?, ?, ?, 1)",
+                items);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void productScrollByPrice_shouldSeekPriceIndex() {
+        assertThat(plan("SELECT * FROM products p WHERE p.deleted = FALSE "
+                + "AND p.price >= 250 AND (p.price > 250 OR p.id > 10000100) "
+                + "ORDER BY p.price, p.id FETCH FIRST 21 ROWS ONLY"))
+                .contains("IDX_PRODUCTS_PRICE_ID");
+    }
+
+    @Test
+    void productScrollByNamePrefix_shouldSeekNormalizedNameIndex() {
+        assertThat(plan("SELECT * FROM products p WHERE p.deleted = FALSE "
+                + "AND p.name_normalized LIKE 'product 12%' ESCAPE '\\' "
+                + "ORDER BY p.name_normalized, p.id FETCH FIRST 21 ROWS ONLY"))
+                .contains("IDX_PRODUCTS_NAME_NORMALIZED_ID");
+    }
+
+    @Test
+    void productSearchByAvailabilityAndPrice_shouldUseAvailabilityIndex() {
+        assertThat(plan("SELECT * FROM products p WHERE p.deleted = FALSE AND p.available = TRUE "
+                + "AND p.price >= 10 AND p.price <= 12"))
+                .contains("IDX_PRODUCTS_AVAILABLE_PRICE");
+    }
+
+    @Test
+    void findByUsername_shouldUseUniqueUsernameIndex() {
+        assertThat(plan("SELECT * FROM users u WHERE u.username = 'user1'"))
+                .contains("UX_USERS_USERNAME");
+    }
+
+    @Test
+    void orderHistoryOfUser_shouldUseUserCreatedAtIndex() {
+        assertThat(plan("SELECT * FROM orders o WHERE o.user_id = 7 "
+                + "ORDER BY o.created_at DESC, o.id DESC FETCH FIRST 21 ROWS ONLY"))
+                .contains("IDX_ORDERS_USER_CREATED_AT");
+    }
+
+    @Test
+    void itemsOfOrderPage_shouldUseOrderIdIndex() {
+        assertThat(plan("SELECT * FROM order_item i WHERE i.order_id IN (10000001, 10000002, 10000003)"))
+                .contains("IDX_ORDER_ITEM_ORDER_ID");
+    }
+
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import com.example.service.impl.GroupCommitOrderExecutor;
+import com.example.service.impl.OrderServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Throughput vs latency of group commit against plain per-order transactions. Runs on a file-backed H2 database
+ * with {@code WRITE_DELAY=0}, so every commit is written to the file before it returns; the in-memory default has
+ * no commit cost for group commit to spread. Both variants are warmed up first.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=GroupCommitBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:${java.io.tmpdir}/group-commit-bench;WRITE_DELAY=0",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.orders.group-commit.enabled=true"
+})
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class GroupCommitBenchmarkIT {
+
+    private static final int ORDERS_PER_THREAD = 300;
+
+    @Autowired private OrderServiceImpl orderService;
+    @Autowired private GroupCommitOrderExecutor groupCommit;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void compareThroughputAndLatency() throws Exception {
+        AppUser buyer = userRepository.findByUsername("bench-user").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("bench-user");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        });
+        Product p = new Product();
+        p.setName("BENCH_SKU");
+        p.setPrice(new BigDecimal("1.00"));
+        p.setQuantity(Integer.MAX_VALUE / 2);
+        p.setAvailable(true);
+        Long productId = productRepository.save(p).getId();
+
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        List<OrderRequest.Item> items = List.of(item);
+
+        for (int round = 0; round < 2; round++) {
+            run("warm-up per-order tx", 4, buyer.getUsername(), items, orderService::placeOrder);
+            run("warm-up group commit", 4, buyer.getUsername(), items, (u, i) -> groupCommit.submit(u, i).join());
+        }
+
+        for (int threads : new int[]{1, 4, 16, 32}) {
+            run("per-order tx", threads, buyer.getUsername(), items, orderService::placeOrder);
+            run("group commit", threads, buyer.getUsername(), items,
+                    (u, i) -> groupCommit.submit(u, i).join());
+        }
+    }
+
+    private void run(String label, int threads, String username, List<OrderRequest.Item> items,
+            BiFunction<String, List<OrderRequest.Item>, ?> placer) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long[] latencies = new long[threads * ORDERS_PER_THREAD];
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * ORDERS_PER_THREAD;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                    long t0 = System.nanoTime();
+                    placer.apply(username, items);
+                    latencies[offset + i] = System.nanoTime() - t0;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        Arrays.sort(latencies);
+        log.info("{} threads={} orders/s={} p50Ms={} p99Ms={}", label, threads,
+                String.format("%.0f", latencies.length / (elapsed / 1e9)),
+                String.format("%.2f", latencies[latencies.length / 2] / 1e6),
+                String.format("%.2f", latencies[(int) (latencies.length * 0.99)] / 1e6));
+    }
+}
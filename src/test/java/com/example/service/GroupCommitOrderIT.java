@@ -0,0 +1,80 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.OrderEntity;
+import com.example.entity.Product;
+import com.example.exception.InsufficientStockException;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import com.example.service.impl.GroupCommitOrderExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "app.orders.group-commit.enabled=true",
+        "app.orders.group-commit.window-ms=50"
+})
+class GroupCommitOrderIT {
+
+    @Autowired private GroupCommitOrderExecutor groupCommit;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void batch_withOneFailingOrder_shouldCommitTheOthers() {
+        AppUser buyer = userRepository.findByUsername("group-user").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("group-user");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        });
+        Long plentiful = saveProduct("GROUP_A", 100);
+        Long scarce = saveProduct("GROUP_B", 1);
+
+        List<CompletableFuture<OrderEntity>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(groupCommit.submit(buyer.getUsername(), List.of(item(plentiful, 2))));
+        }
+        CompletableFuture<OrderEntity> failing = groupCommit.submit(buyer.getUsername(),
+                List.of(item(plentiful, 1), item(scarce, 5)));
+
+        results.forEach(f -> assertNotNull(f.join().getId()));
+        CompletionException ex = assertThrows(CompletionException.class, failing::join);
+        assertInstanceOf(InsufficientStockException.class, ex.getCause());
+
+        // the failing order left no stock change behind
+        assertEquals(90, productRepository.findById(plentiful).orElseThrow().getQuantity());
+        assertEquals(1, productRepository.findById(scarce).orElseThrow().getQuantity());
+    }
+
+    private Long saveProduct(String name, int quantity) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(new BigDecimal("1.00"));
+        p.setQuantity(quantity);
+        p.setAvailable(true);
+        return productRepository.save(p).getId();
+    }
+
+    private static OrderRequest.Item item(Long productId, int quantity) {
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
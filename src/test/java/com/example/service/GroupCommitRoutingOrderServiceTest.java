@@ -0,0 +1,60 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.OrderEntity;
+import com.example.exception.InsufficientStockException;
+import com.example.service.impl.GroupCommitOrderExecutor;
+import com.example.service.impl.GroupCommitRoutingOrderService;
+import com.example.service.impl.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitRoutingOrderServiceTest {
+
+    @Mock private OrderServiceImpl delegate;
+    @Mock private GroupCommitOrderExecutor groupCommit;
+
+    private GroupCommitRoutingOrderService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GroupCommitRoutingOrderService(delegate, groupCommit);
+    }
+
+    @Test
+    void placeOrder_groupCommitDisabled_shouldCallDelegate() {
+        List<OrderRequest.Item> items = List.of(new OrderRequest.Item());
+        OrderEntity order = new OrderEntity();
+        when(groupCommit.isEnabled()).thenReturn(false);
+        when(delegate.placeOrder("user1", items)).thenReturn(order);
+
+        assertSame(order, service.placeOrder("user1", items));
+        verify(groupCommit, never()).submit(any(), anyList());
+    }
+
+    @Test
+    void placeOrder_groupCommitEnabled_shouldUnwrapFailure() {
+        List<OrderRequest.Item> items = List.of(new OrderRequest.Item());
+        InsufficientStockException failure = new InsufficientStockException("Insufficient stock");
+        when(groupCommit.isEnabled()).thenReturn(true);
+        when(groupCommit.submit("user1", items)).thenReturn(CompletableFuture.failedFuture(failure));
+
+        assertSame(failure, assertThrows(InsufficientStockException.class, () -> service.placeOrder("user1", items)));
+        verify(delegate, never()).placeOrder(any(), anyList());
+    }
+}
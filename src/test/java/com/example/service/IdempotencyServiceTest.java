@@ -0,0 +1,151 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.exception.IdempotencyKeyInFlightException;
+import com.example.exception.IdempotencyKeyReuseException;
+import com.example.service.idempotency.InMemoryIdempotencyStore;
+import com.example.service.idempotency.StoredResponse;
+import com.example.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyServiceImpl idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(new InMemoryIdempotencyStore(100, 60), new ObjectMapper());
+    }
+
+    @Test
+    void execute_sameKeyTwice_shouldRunOnceAndReplay() {
+        ResponseEntity<?> first = idempotencyService.execute("user1", "k1", request(1), this::placeOrder);
+        ResponseEntity<?> second = idempotencyService.execute("user1", "k1", request(1), this::placeOrder);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("{\"id\":1}", second.getBody());
+        assertEquals("true", second.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(Map.of("id", 1), first.getBody());
+    }
+
+    @Test
+    void execute_sameKeyDifferentUser_shouldRunAgain() {
+        idempotencyService.execute("user1", "k1", request(1), this::placeOrder);
+        idempotencyService.execute("premium1", "k1", request(1), this::placeOrder);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_sameKeyDifferentPayload_shouldThrow() {
+        idempotencyService.execute("user1", "k1", request(1), this::placeOrder);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyService.execute("user1", "k1", request(2), this::placeOrder));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_failedAttempt_shouldNotBeStored() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("user1", "k1", request(1), () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        idempotencyService.execute("user1", "k1", request(1), this::placeOrder);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_responseNotStored_retryShouldNotRunAgain() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, 60) {
+            @Override
+            public void complete(String key, StoredResponse response) {
+                throw new IllegalStateException("store down");
+            }
+        };
+        idempotencyService = new IdempotencyServiceImpl(store, new ObjectMapper());
+
+        assertEquals(HttpStatus.OK, idempotencyService.execute("user1", "k1", request(1), this::placeOrder)
+                .getStatusCode());
+
+        assertThrows(IdempotencyKeyInFlightException.class,
+                () -> idempotencyService.execute("user1", "k1", request(1), this::placeOrder));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_keyClaimedByAnotherInstance_shouldThrowInFlight() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, 60);
+        store.claim("user1:k1", "elsewhere");
+        idempotencyService = new IdempotencyServiceImpl(store, new ObjectMapper());
+
+        assertThrows(IdempotencyKeyInFlightException.class,
+                () -> idempotencyService.execute("user1", "k1", request(1), this::placeOrder));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_concurrentDuplicates_shouldRunOnce() throws Exception {
+        int callers = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> idempotencyService.execute("user1", "k1", request(1), () -> {
+                    await(release);
+                    return placeOrder();
+                })));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<ResponseEntity<?>> result : results) {
+                assertEquals(HttpStatus.OK, result.get(5, TimeUnit.SECONDS).getStatusCode());
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<?> placeOrder() {
+        return ResponseEntity.ok(Map.of("id", executions.incrementAndGet()));
+    }
+
+    private static OrderRequest request(int quantity) {
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(1L);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
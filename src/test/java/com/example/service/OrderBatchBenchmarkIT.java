@@ -0,0 +1,95 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import com.example.service.impl.OrderServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-thread throughput of the batch path against one transaction per order on the H2 datasource.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=OrderBatchBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class OrderBatchBenchmarkIT {
+
+    private static final int ORDERS = 5_000;
+    private static final int PRODUCTS = 50;
+
+    @Autowired private OrderServiceImpl orderService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void compareThroughput() {
+        String username = userRepository.findByUsername("bench-user").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("bench-user");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        }).getUsername();
+
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product p = new Product();
+            p.setName("BATCH_BENCH_" + i);
+            p.setPrice(new BigDecimal("1.00"));
+            p.setQuantity(Integer.MAX_VALUE / 2);
+            p.setAvailable(true);
+            productIds.add(productRepository.save(p).getId());
+        }
+
+        List<OrderRequest> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(order(productIds.get(i % PRODUCTS), productIds.get((i * 7 + 3) % PRODUCTS)));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            orders.forEach(o -> orderService.placeOrder(username, o.getItems()));
+            report("single", start);
+
+            for (int batchSize : new int[]{50, 500}) {
+                start = System.nanoTime();
+                for (int from = 0; from < ORDERS; from += batchSize) {
+                    orderService.placeOrders(username, orders.subList(from, Math.min(from + batchSize, ORDERS)));
+                }
+                report("batch of " + batchSize, start);
+            }
+            Collections.shuffle(orders);
+        }
+    }
+
+    private static void report(String label, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        log.info("{}: {} orders/s on one thread", label, Math.round(ORDERS / seconds));
+    }
+
+    private static OrderRequest order(Long... productIds) {
+        List<OrderRequest.Item> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            OrderRequest.Item item = new OrderRequest.Item();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        OrderRequest request = new OrderRequest();
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.Product;
+import com.example.exception.InsufficientStockException;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Buyers and an admin editing the catalog race on one SKU, swept over buyer thread counts. Orders take stock with a
+ * conditional UPDATE and wait on the row lock, so they never fail on a stale version and are never retried; the
+ * conflicts that grow with concurrency are the admin's versioned edits, which the admin re-reads and retries. Each
+ * level logs those conflicts and retries next to orders sold and rejected. Stock covers three quarters of each
+ * level's orders, so every level sells out and the sold-out tail is the same share of the run.
+ */
+@Slf4j
+@SpringBootTest
+class OrderContentionIT {
+
+    private static final int[] BUYER_LEVELS = {1, 2, 4, 8, 16};
+    private static final int ORDERS_PER_BUYER = 10;
+    private static final int CATALOG_EDITS = 20;
+
+    @Autowired private OrderService orderService;
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void concurrentOrdersAndCatalogEdits_onSingleSku_shouldNotLoseUpdates() throws Exception {
+        AppUser buyer = userRepository.findByUsername("contention-user").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("contention-user");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        });
+
+        List<String> report = new ArrayList<>();
+        for (int buyers : BUYER_LEVELS) {
+            report.add(runLevel(buyer.getUsername(), buyers));
+        }
+        log.info("Contention on single SKU, edits={} per level:\n{}", CATALOG_EDITS, String.join("\n", report));
+    }
+
+    private String runLevel(String username, int buyers) throws Exception {
+        int placed = buyers * ORDERS_PER_BUYER;
+        int initialStock = placed * 3 / 4;
+        Product p = new Product();
+        p.setName("HOT_SKU");
+        p.setPrice(new BigDecimal("10.00"));
+        p.setQuantity(initialStock);
+        p.setAvailable(true);
+        Long productId = productRepository.save(p).getId();
+
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(productId);
+        item.setQuantity(1);
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger editConflicts = new AtomicInteger();
+        AtomicInteger editAttempts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers + 1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int b = 0; b < buyers; b++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                    try {
+                        orderService.placeOrder(username, List.of(item));
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Admin edits write back the quantity they read; without versioning these would resurrect sold stock
+        futures.add(pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < CATALOG_EDITS; i++) {
+                while (true) {
+                    Product read = productRepository.findById(productId).orElseThrow();
+                    Product patch = new Product();
+                    patch.setName("HOT_SKU_" + i);
+                    patch.setPrice(read.getPrice());
+                    patch.setQuantity(read.getQuantity());
+                    patch.setVersion(read.getVersion());
+                    editAttempts.incrementAndGet();
+                    try {
+                        productService.update(productId, patch);
+                        break;
+                    } catch (ObjectOptimisticLockingFailureException ex) {
+                        editConflicts.incrementAndGet();
+                    }
+                }
+            }
+            return null;
+        }));
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        pool.shutdown();
+
+        int remaining = productRepository.findById(productId).orElseThrow().getQuantity();
+        Integer orderedUnits = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM order_item WHERE product_id = ?", Integer.class, productId);
+
+        assertEquals(initialStock, sold.get());
+        assertEquals(placed - initialStock, rejected.get());
+        assertEquals(sold.get(), orderedUnits.intValue());
+        assertEquals(0, remaining);
+        // Every conflict is followed by exactly one retry of that edit
+        assertEquals(CATALOG_EDITS + editConflicts.get(), editAttempts.get());
+
+        return String.format("buyers=%d orders=%d sold=%d rejected=%d editConflicts=%d editRetries=%d "
+                        + "conflictRate=%.2f orderRetries=0 tookMs=%d", buyers, placed, sold.get(), rejected.get(),
+                editConflicts.get(), editAttempts.get() - CATALOG_EDITS,
+                editConflicts.get() / (double) editAttempts.get(), tookMs);
+    }
+}
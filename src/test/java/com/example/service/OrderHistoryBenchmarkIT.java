@@ -0,0 +1,124 @@
+package com.example.service;
+
+import com.example.dto.CursorPage;
+import com.example.entity.AppUser;
+import com.example.entity.OrderEntity;
+import com.example.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Latency of a heavy user's order history as it grows from 10 to 100k orders, first page and a deep page.
+ * Other users' orders are inserted alongside so the index has to separate them.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=OrderHistoryBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class OrderHistoryBenchmarkIT {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SAMPLES = 200;
+    // Ids far above anything the sequence hands out during the run
+    private static final long FIRST_ID = 50_000_000L;
+
+    @Autowired private OrderService orderService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private long nextId = FIRST_ID;
+    private Instant nextCreatedAt = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Test
+    void historyLatencyStaysFlat() {
+        AppUser heavy = user("history-heavy");
+        AppUser other = user("history-other");
+
+        int inserted = 0;
+        for (int size : new int[]{10, 1_000, 10_000, 100_000}) {
+            insertOrders(heavy.getId(), other.getId(), size - inserted);
+            inserted = size;
+
+            long[] firstPage = new long[SAMPLES];
+            long[] deepPage = new long[SAMPLES];
+            String deepCursor = cursorAfterPages(heavy.getUsername(), Math.min(size / PAGE_SIZE, 50) - 1);
+            for (int i = 0; i < SAMPLES; i++) {
+                long start = System.nanoTime();
+                orderService.getUserOrders(heavy.getUsername(), null, PAGE_SIZE);
+                firstPage[i] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                orderService.getUserOrders(heavy.getUsername(), deepCursor, PAGE_SIZE);
+                deepPage[i] = System.nanoTime() - start;
+            }
+            log.info("orders={} firstPage p50={}us p99={}us deepPage p50={}us p99={}us", size,
+                    percentile(firstPage, 50), percentile(firstPage, 99),
+                    percentile(deepPage, 50), percentile(deepPage, 99));
+        }
+    }
+
+    private String cursorAfterPages(String username, int pages) {
+        String cursor = null;
+        for (int i = 0; i < pages; i++) {
+            CursorPage<OrderEntity> page = orderService.getUserOrders(username, cursor, PAGE_SIZE);
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            cursor = page.getNextCursor();
+        }
+        return cursor;
+    }
+
+    private void insertOrders(Long heavyUserId, Long otherUserId, int count) {
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            for (Long userId : new Long[]{heavyUserId, otherUserId}) {
+                long id = nextId++;
+                nextCreatedAt = nextCreatedAt.plusMillis(1);
+                orders.add(new Object[]{id, userId, 1, Timestamp.from(nextCreatedAt)});
+                items.add(new Object[]{id, id, 1L, 1, 1, 0, 1});
+            }
+            if (orders.size() >= 5_000) {
+                flush(orders, items);
+            }
+        }
+        flush(orders, items);
+    }
+
+    private void flush(List<Object[]> orders, List<Object[]> items) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO orders (id, user_id, order_total, created_at) VALUES (?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_item (id, order_id, product_id, quantity, unit_price, "
+                + "discount_applied, total_price) VALUES (?, ?, ?, ?, ?, ?, ?)", items);
+        orders.clear();
+        items.clear();
+    }
+
+    private AppUser user(String username) {
+        return userRepository.findByUsername(username).orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername(username);
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        });
+    }
+
+    private static long percentile(long[] nanos, int p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * p / 100)] / 1_000;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatus;
+import com.example.dto.OrderStatusResponse;
+import com.example.entity.AppUser;
+import com.example.entity.OrderEntity;
+import com.example.exception.InsufficientStockException;
+import com.example.exception.OrderQueueFullException;
+import com.example.repository.UserRepository;
+import com.example.service.impl.GroupCommitOrderExecutor;
+import com.example.service.impl.OrderIntakeServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock private OrderService orderService;
+    @Mock private GroupCommitOrderExecutor groupCommit;
+    @Mock private UserRepository userRepository;
+
+    private OrderIntakeServiceImpl intake;
+
+    @AfterEach
+    void tearDown() {
+        intake.stop();
+    }
+
+    @Test
+    void submit_shouldAcknowledgeThenConfirm() throws Exception {
+        intake = new OrderIntakeServiceImpl(orderService, groupCommit, userRepository, "async", 10, 1, 8, 30, 5);
+        OrderEntity order = new OrderEntity();
+        order.setId(42L);
+        when(orderService.placeOrder(eq("user1"), any())).thenReturn(order);
+        intake.start();
+
+        OrderStatusResponse accepted = intake.submit("user1", List.of(item()));
+        assertEquals(OrderStatus.PENDING, accepted.getStatus());
+
+        OrderStatusResponse status = awaitCompletion(accepted.getId(), "user1");
+        assertEquals(OrderStatus.CONFIRMED, status.getStatus());
+        assertEquals(42L, status.getOrderId());
+    }
+
+    @Test
+    void submit_stockFailure_shouldReportRejectedWithReason() throws Exception {
+        intake = new OrderIntakeServiceImpl(orderService, groupCommit, userRepository, "async", 10, 1, 8, 30, 5);
+        when(orderService.placeOrder(eq("user1"), any()))
+                .thenThrow(new InsufficientStockException("Insufficient stock for product: 1"));
+        intake.start();
+
+        OrderStatusResponse accepted = intake.submit("user1", List.of(item()));
+
+        OrderStatusResponse status = awaitCompletion(accepted.getId(), "user1");
+        assertEquals(OrderStatus.REJECTED, status.getStatus());
+        assertEquals("Insufficient stock for product: 1", status.getMessage());
+    }
+
+    @Test
+    void submit_queueFull_shouldApplyBackpressure() {
+        // no consumers, so nothing drains the single slot
+        intake = new OrderIntakeServiceImpl(orderService, groupCommit, userRepository, "async", 1, 0, 8, 30, 5);
+
+        intake.submit("user1", List.of(item()));
+
+        assertThrows(OrderQueueFullException.class, () -> intake.submit("user1", List.of(item())));
+    }
+
+    @Test
+    void getStatus_otherUser_shouldBeDenied() {
+        intake = new OrderIntakeServiceImpl(orderService, groupCommit, userRepository, "async", 1, 0, 8, 30, 5);
+        OrderStatusResponse accepted = intake.submit("user1", List.of(item()));
+        AppUser other = new AppUser();
+        other.setRoles(Set.of("USER"));
+        when(userRepository.findByUsername("user2")).thenReturn(Optional.of(other));
+
+        assertThrows(AccessDeniedException.class, () -> intake.getStatus(accepted.getId(), "user2"));
+    }
+
+    @Test
+    void stop_shouldPlaceEverythingAlreadyAcknowledged() {
+        intake = new OrderIntakeServiceImpl(orderService, groupCommit, userRepository, "async", 10, 1, 1, 30, 5);
+        OrderEntity order = new OrderEntity();
+        order.setId(42L);
+        when(orderService.placeOrder(eq("user1"), any())).thenAnswer(inv -> {
+            Thread.sleep(20);
+            return order;
+        });
+        intake.start();
+        List<OrderStatusResponse> accepted = List.of(intake.submit("user1", List.of(item())),
+                intake.submit("user1", List.of(item())), intake.submit("user1", List.of(item())));
+
+        intake.stop();
+
+        for (OrderStatusResponse a : accepted) {
+            assertEquals(OrderStatus.CONFIRMED, intake.getStatus(a.getId(), "user1").getStatus());
+        }
+        assertThrows(OrderQueueFullException.class, () -> intake.submit("user1", List.of(item())));
+    }
+
+    @Test
+    void stop_withoutConsumers_shouldRejectWhatIsStillQueued() {
+        intake = new OrderIntakeServiceImpl(orderService, groupCommit, userRepository, "async", 10, 0, 8, 30, 5);
+        OrderStatusResponse accepted = intake.submit("user1", List.of(item()));
+
+        intake.stop();
+
+        OrderStatusResponse status = intake.getStatus(accepted.getId(), "user1");
+        assertEquals(OrderStatus.REJECTED, status.getStatus());
+        assertEquals("Order intake stopped before the order was placed", status.getMessage());
+    }
+
+    private OrderStatusResponse awaitCompletion(String id, String username) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            OrderStatusResponse status = intake.getStatus(id, username);
+            if (status.getStatus() != OrderStatus.PENDING) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Order " + id + " still pending");
+    }
+
+    private static OrderRequest.Item item() {
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(1L);
+        item.setQuantity(1);
+        return item;
+    }
+}
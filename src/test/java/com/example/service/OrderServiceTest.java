@@ -1,32 +1,49 @@
 package com.example.service;
 
+import com.example.dto.BatchOrderResult;
+import com.example.dto.CursorPage;
+import com.example.dto.OrderQuote;
 import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatus;
 import com.example.entity.AppUser;
 import com.example.entity.OrderEntity;
+import com.example.entity.OrderItem;
 import com.example.entity.Product;
 import com.example.exception.InsufficientStockException;
+import com.example.exception.InvalidCursorException;
+import com.example.repository.OrderFilter;
 import com.example.repository.OrderRepository;
 import com.example.repository.ProductRepository;
 import com.example.repository.UserRepository;
+import com.example.service.discount.CompiledDiscountEvaluator;
+import com.example.service.discount.DiscountProperties;
+import com.example.service.discount.DiscountStrategy;
 import com.example.service.discount.PremiumDiscountStrategy;
+import com.example.service.inventory.StockAllocator;
+import com.example.service.outbox.OutboxWriter;
+import com.example.service.pricing.OrderQuoteCache;
 import com.example.service.impl.OrderServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,6 +55,10 @@ class OrderServiceTest {
     @Mock private OrderRepository orderRepository;
     @Mock private ProductRepository productRepository;
     @Mock private UserRepository userRepository;
+    @Mock private StockAllocator stockAllocator;
+    @Spy private DiscountStrategy discountStrategy = new CompiledDiscountEvaluator(new DiscountProperties());
+    @Spy private OrderQuoteCache quoteCache = new OrderQuoteCache(100, 60);
+    @Mock private OutboxWriter outboxWriter;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -55,8 +76,7 @@ class OrderServiceTest {
         p.setDeleted(false);
         p.setQuantity(5);
         p.setPrice(new BigDecimal("100.00"));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(p));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(p));
         when(orderRepository.save(any(OrderEntity.class))).thenAnswer(inv -> inv.getArgument(0));
 
         OrderRequest.Item item = new OrderRequest.Item();
@@ -69,10 +89,11 @@ class OrderServiceTest {
         assertEquals(10L, out.getUserId());
         assertEquals(new BigDecimal("200.00"), out.getOrderTotal());
         assertEquals(1, out.getItems().size());
-        assertEquals(3, p.getQuantity()); // stock reduced
 
         verify(orderRepository, times(1)).save(any(OrderEntity.class));
-        verify(productRepository, atLeastOnce()).save(any(Product.class));
+        verify(stockAllocator).reserve(Map.of(1L, 2)); // stock reduced
+        verify(productRepository, never()).save(any(Product.class));
+        verify(outboxWriter).orderPlaced(out);
     }
 
     @Test
@@ -88,7 +109,7 @@ class OrderServiceTest {
         p.setDeleted(false);
         p.setQuantity(1);
         p.setPrice(new BigDecimal("100.00"));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(p));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(p));
 
         OrderRequest.Item item = new OrderRequest.Item();
         item.setProductId(1L);
@@ -96,19 +117,181 @@ class OrderServiceTest {
 
         assertThrows(InsufficientStockException.class, () -> orderService.placeOrder("user1", List.of(item)));
         verify(orderRepository, never()).save(any());
+        verify(outboxWriter, never()).orderPlaced(any());
+    }
+
+    @Test
+    void placeOrder_premiumMultiLine_lineDiscountsShouldAddUpToOrderDiscount() {
+        AppUser u = new AppUser();
+        u.setId(11L);
+        u.setUsername("premium1");
+        u.setRoles(Set.of("PREMIUM_USER"));
+        when(userRepository.findByUsername("premium1")).thenReturn(Optional.of(u));
+
+        List<Product> products = new ArrayList<>();
+        List<OrderRequest.Item> items = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Product p = new Product();
+            p.setId(id);
+            p.setDeleted(false);
+            p.setQuantity(5);
+            p.setPrice(new BigDecimal("33.33"));
+            products.add(p);
+            OrderRequest.Item item = new OrderRequest.Item();
+            item.setProductId(id);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        when(productRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(products);
+        when(orderRepository.save(any(OrderEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        OrderEntity out = orderService.placeOrder("premium1", items);
+
+        // 10% of 99.99 = 9.999, stored as 10.00; rounding each line on its own would only give 3 x 3.33 = 9.99
+        assertEquals(new BigDecimal("89.99"), out.getOrderTotal());
+        BigDecimal discounts = out.getItems().stream()
+                .map(OrderItem::getDiscountApplied)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(new BigDecimal("10.00"), discounts);
+        assertEquals(new BigDecimal("3.34"), out.getItems().get(0).getDiscountApplied());
+        assertEquals(new BigDecimal("29.99"), out.getItems().get(0).getTotalPrice());
+    }
+
+    @Test
+    void placeOrders_shouldCountEarlierOrdersAgainstStockAndRejectIndividually() {
+        AppUser u = new AppUser();
+        u.setId(10L);
+        u.setUsername("user1");
+        u.setRoles(Set.of("USER"));
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(u));
+
+        Product p = new Product();
+        p.setId(1L);
+        p.setDeleted(false);
+        p.setQuantity(3);
+        p.setPrice(new BigDecimal("100.00"));
+        when(productRepository.findAllById(any())).thenReturn(List.of(p));
+
+        List<BatchOrderResult> results = orderService.placeOrders("user1",
+                List.of(orderOf(1L, 2), orderOf(1L, 2), orderOf(99L, 1), orderOf(1L, 1)));
+
+        assertEquals(OrderStatus.CONFIRMED, results.get(0).getStatus());
+        assertEquals(new BigDecimal("200.00"), results.get(0).getOrderTotal());
+        assertEquals(OrderStatus.REJECTED, results.get(1).getStatus());
+        assertEquals("Insufficient stock for product: 1", results.get(1).getMessage());
+        assertEquals(OrderStatus.REJECTED, results.get(2).getStatus());
+        assertEquals(OrderStatus.CONFIRMED, results.get(3).getStatus());
+
+        verify(productRepository, times(1)).findAllById(any());
+        verify(stockAllocator, times(1)).reserve(Map.of(1L, 3));
+        verify(orderRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void placeOrders_totalsPastIntRange_shouldRejectTheOrderInsteadOfWrapping() {
+        AppUser u = new AppUser();
+        u.setId(10L);
+        u.setUsername("user1");
+        u.setRoles(Set.of("USER"));
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(u));
+
+        Product p = new Product();
+        p.setId(1L);
+        p.setDeleted(false);
+        p.setQuantity(Integer.MAX_VALUE);
+        p.setPrice(new BigDecimal("0.01"));
+        when(productRepository.findAllById(any())).thenReturn(List.of(p));
+
+        List<BatchOrderResult> results = orderService.placeOrders("user1",
+                List.of(orderOf(1L, 2_000_000_000), orderOf(1L, 2_000_000_000), orderOf(1L, 1)));
+
+        assertEquals(OrderStatus.CONFIRMED, results.get(0).getStatus());
+        assertEquals(OrderStatus.REJECTED, results.get(1).getStatus());
+        assertEquals("Insufficient stock for product: 1", results.get(1).getMessage());
+        assertEquals(OrderStatus.CONFIRMED, results.get(2).getStatus());
+        verify(stockAllocator, times(1)).reserve(Map.of(1L, 2_000_000_001));
+    }
+
+    @Test
+    void placeOrder_duplicateProductLines_shouldMergeAndCheckCombinedQuantity() {
+        AppUser u = new AppUser();
+        u.setId(10L);
+        u.setUsername("user1");
+        u.setRoles(Set.of("USER"));
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(u));
+
+        Product p = new Product();
+        p.setId(1L);
+        p.setDeleted(false);
+        p.setQuantity(3);
+        p.setPrice(new BigDecimal("100.00"));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(p));
+
+        OrderRequest.Item first = new OrderRequest.Item();
+        first.setProductId(1L);
+        first.setQuantity(2);
+        OrderRequest.Item second = new OrderRequest.Item();
+        second.setProductId(1L);
+        second.setQuantity(2);
+
+        assertThrows(InsufficientStockException.class,
+                () -> orderService.placeOrder("user1", List.of(first, second)));
+        verify(productRepository, times(1)).findAllById(List.of(1L));
+        verify(stockAllocator, never()).reserve(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void placeOrder_duplicateLinesPastIntRange_shouldRejectInsteadOfWrapping() {
+        AppUser u = new AppUser();
+        u.setId(10L);
+        u.setUsername("user1");
+        u.setRoles(Set.of("USER"));
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(u));
+
+        OrderRequest.Item first = new OrderRequest.Item();
+        first.setProductId(1L);
+        first.setQuantity(1_100_000_000);
+        OrderRequest.Item second = new OrderRequest.Item();
+        second.setProductId(1L);
+        second.setQuantity(1_100_000_000);
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class,
+                () -> orderService.placeOrder("user1", List.of(first, second)));
+        assertEquals("Insufficient stock for product: 1", ex.getMessage());
+        verify(stockAllocator, never()).reserve(any());
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
     void getOrderById_shouldDelegateToRepo() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(new OrderEntity()));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(new OrderEntity()));
         orderService.getOrderById(1L);
-        verify(orderRepository).findById(1L);
+        verify(orderRepository).findWithItemsById(1L);
+    }
+
+    @Test
+    void getOrders_fullPage_shouldReturnCursorForNextPage() {
+        OrderFilter filter = new OrderFilter(null, null, null);
+        OrderEntity newer = orderAt(2L, Instant.parse("2024-01-02T00:00:00Z"));
+        OrderEntity older = orderAt(1L, Instant.parse("2024-01-01T00:00:00Z"));
+        when(orderRepository.findPage(filter, null, null, 2)).thenReturn(List.of(newer, older));
+
+        CursorPage<OrderEntity> first = orderService.getOrders(filter, null, 1);
+        assertEquals(List.of(newer), first.getItems());
+        assertNotNull(first.getNextCursor());
+        verify(orderRepository).findWithItemsByIdIn(List.of(2L));
+
+        when(orderRepository.findPage(filter, newer.getCreatedAt(), 2L, 2)).thenReturn(List.of(older));
+        CursorPage<OrderEntity> second = orderService.getOrders(filter, first.getNextCursor(), 1);
+        assertEquals(List.of(older), second.getItems());
+        assertNull(second.getNextCursor());
     }
 
     @Test
-    void getAllOrders_shouldDelegateToRepo() {
-        orderService.getAllOrders();
-        verify(orderRepository).findAll();
+    void getOrders_malformedCursor_shouldThrow() {
+        assertThrows(InvalidCursorException.class,
+                () -> orderService.getOrders(new OrderFilter(null, null, null), "not-a-cursor", 10));
     }
 
     @Test
@@ -138,4 +321,77 @@ class OrderServiceTest {
         Assertions.assertThat(discount).isEqualByComparingTo("0.00");
     }
 
+    @Test
+    void quoteOrder_shouldPriceWithoutReservingStockAndReuseQuoteUntilVersionChanges() {
+        AppUser u = new AppUser();
+        u.setId(11L);
+        u.setUsername("premium1");
+        u.setRoles(Set.of("PREMIUM_USER"));
+        when(userRepository.findByUsername("premium1")).thenReturn(Optional.of(u));
+
+        Product p = new Product();
+        p.setId(1L);
+        p.setDeleted(false);
+        p.setQuantity(5);
+        p.setPrice(new BigDecimal("100.00"));
+        p.setVersion(0L);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(p));
+
+        List<OrderRequest.Item> items = orderOf(1L, 2).getItems();
+        OrderQuote quote = orderService.quoteOrder("premium1", items);
+
+        assertEquals(new BigDecimal("200.00"), quote.getSubtotal());
+        assertEquals(new BigDecimal("20.00"), quote.getDiscount());
+        assertEquals(new BigDecimal("180.00"), quote.getOrderTotal());
+        assertEquals(new BigDecimal("180.00"), quote.getItems().get(0).getTotalPrice());
+
+        assertEquals(quote, orderService.quoteOrder("premium1", items));
+        verify(discountStrategy, times(1)).calculate(any(), any());
+
+        p.setPrice(new BigDecimal("50.00"));
+        p.setVersion(1L);
+        assertEquals(new BigDecimal("90.00"), orderService.quoteOrder("premium1", items).getOrderTotal());
+
+        verify(stockAllocator, never()).reserve(any());
+        verify(orderRepository, never()).save(any(OrderEntity.class));
+    }
+
+    @Test
+    void quoteOrder_insufficientStock_shouldThrowAndNotCache() {
+        AppUser u = new AppUser();
+        u.setId(10L);
+        u.setUsername("user1");
+        u.setRoles(Set.of("USER"));
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(u));
+
+        Product p = new Product();
+        p.setId(1L);
+        p.setDeleted(false);
+        p.setQuantity(1);
+        p.setPrice(new BigDecimal("100.00"));
+        p.setVersion(0L);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(p));
+
+        List<OrderRequest.Item> items = orderOf(1L, 2).getItems();
+        assertThrows(InsufficientStockException.class, () -> orderService.quoteOrder("user1", items));
+
+        p.setQuantity(2);
+        assertEquals(new BigDecimal("200.00"), orderService.quoteOrder("user1", items).getOrderTotal());
+    }
+
+    private static OrderEntity orderAt(Long id, Instant createdAt) {
+        OrderEntity order = new OrderEntity();
+        order.setId(id);
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+
+    private static OrderRequest orderOf(Long productId, int quantity) {
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
 }
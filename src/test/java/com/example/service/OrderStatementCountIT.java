@@ -0,0 +1,84 @@
+package com.example.service;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.outbox.relay.enabled=false"
+})
+class OrderStatementCountIT {
+
+    private static final int LINES = 10;
+
+    @Autowired private OrderService orderService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void placeOrder_shouldInsertOrderAndItemsInBatchesWithoutFkUpdates() {
+        AppUser buyer = userRepository.findByUsername("batch-user").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("batch-user");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        });
+
+        List<OrderRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Product p = new Product();
+            p.setName("BATCH_" + i);
+            p.setPrice(new BigDecimal("1.00"));
+            p.setQuantity(10);
+            p.setAvailable(true);
+            OrderRequest.Item item = new OrderRequest.Item();
+            item.setProductId(productRepository.save(p).getId());
+            item.setQuantity(1);
+            items.add(item);
+        }
+
+        // warm up so sequence pools are already allocated; the pooled optimizer may need a second
+        // round-trip before its first block is usable
+        orderService.placeOrder(buyer.getUsername(), items);
+        orderService.placeOrder(buyer.getUsername(), items);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        orderService.placeOrder(buyer.getUsername(), items);
+
+        log.info("Statements per {}-line order: prepared={} entityInserts={} collectionUpdates={}",
+                LINES, stats.getPrepareStatementCount(), stats.getEntityInsertCount(),
+                stats.getCollectionUpdateCount() + stats.getCollectionRecreateCount());
+
+        // order, items and the OrderPlaced outbox event
+        assertEquals(LINES + 2, stats.getEntityInsertCount());
+        assertEquals(0, stats.getEntityUpdateCount());
+        // Before (IDENTITY + unidirectional @JoinColumn) a 10-line order prepared 24 statements: every item was
+        // its own INSERT followed by an UPDATE of order_id.
+        // Now: user + roles, products IN-list, order insert, one batched item insert, the outbox insert, and at
+        // most one sequence round-trip when a pooled block runs out.
+        assertTrue(stats.getPrepareStatementCount() <= 7,
+                "prepared statements: " + stats.getPrepareStatementCount());
+    }
+}
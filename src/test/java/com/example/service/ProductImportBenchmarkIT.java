@@ -0,0 +1,131 @@
+package com.example.service;
+
+import com.example.dto.ProductImportReport;
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports a one-million-row NDJSON file through {@link ProductImportService} and reports rows per second and the
+ * peak used heap while it runs (sampled every 10 ms, starting from a collected heap). For scale, the row-by-row
+ * {@code save} that {@code BootstrapDataLoader} uses runs over the first 20,000 rows. The database is a file so the
+ * stored rows stay off the heap, and the search index is off, so the heap figures are the importer's own; with the
+ * index on, it adds its size on top.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=ProductImportBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/import-bench/db;DB_CLOSE_DELAY=-1",
+        "app.products.search.index.enabled=false"
+})
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class ProductImportBenchmarkIT {
+
+    private static final int ROWS = 1_000_000;
+    private static final int ROW_BY_ROW = 20_000;
+
+    @Autowired private ProductImportService importService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void importOneMillionRows() throws Exception {
+        // The database file outlives the run
+        jdbcTemplate.execute("TRUNCATE TABLE products");
+        Path file = dir.resolve("products.ndjson");
+        writeFile(file);
+        log.info("file rows={} sizeMb={}", ROWS, Files.size(file) / (1024 * 1024));
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ROW_BY_ROW; i++) {
+            Product p = new Product();
+            p.setName("Row product " + i);
+            p.setPrice(new BigDecimal("9.99"));
+            p.setQuantity(1);
+            p.setAvailable(true);
+            productRepository.save(p);
+        }
+        log.info("row-by-row save rows={} rowsPerSec={}", ROW_BY_ROW, perSecond(ROW_BY_ROW, started));
+
+        HeapSampler sampler = new HeapSampler();
+        started = System.nanoTime();
+        ProductImportReport report;
+        try (InputStream in = Files.newInputStream(file)) {
+            report = importService.importProducts(in);
+        } finally {
+            sampler.stop();
+        }
+        System.gc();
+        log.info("import rows={} imported={} rejected={} rowsPerSec={} heapMb before={} peak={} afterGc={}",
+                report.getReceived(), report.getImported(), report.getRejected(),
+                perSecond(report.getImported(), started), sampler.baseline / (1024 * 1024),
+                sampler.peak.get() / (1024 * 1024),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024));
+    }
+
+    private static void writeFile(Path file) throws Exception {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < ROWS; i++) {
+                out.write("{\"name\":\"Imported product " + i + "\",\"description\":\"bulk\",\"price\":"
+                        + (1 + i % 500) + "." + (i % 100) + ",\"quantity\":" + (i % 200)
+                        + ",\"available\":" + (i % 7 != 0) + "}\n");
+            }
+        }
+    }
+
+    private static long perSecond(int rows, long startedNanos) {
+        return rows * 1_000_000_000L / Math.max(1, System.nanoTime() - startedNanos);
+    }
+
+    private static final class HeapSampler {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicLong peak = new AtomicLong();
+        private final long baseline;
+        private final Thread thread;
+
+        HeapSampler() {
+            System.gc();
+            baseline = memory.getHeapMemoryUsage().getUsed();
+            thread = new Thread(() -> {
+                while (running.get()) {
+                    peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(10);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "heap-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.example.service;
 
+import com.example.dto.CursorPage;
 import com.example.entity.Product;
+import com.example.exception.VersionRequiredException;
+import com.example.repository.ProductFilter;
 import com.example.repository.ProductRepository;
+import com.example.repository.ProductSort;
+import com.example.repository.StockState;
+import com.example.service.catalog.CatalogGeneration;
+import com.example.service.catalog.ProductCatalogCache;
+import com.example.service.catalog.ProductSearchIndex;
+import com.example.service.catalog.SearchResultCache;
 import com.example.service.impl.ProductServiceImpl;
+import com.example.service.outbox.OutboxWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -13,15 +24,19 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,18 +46,35 @@ class ProductServiceTest {
     @Mock
     private ProductRepository repo;
 
-    @InjectMocks
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    private final CatalogGeneration catalogGeneration = new CatalogGeneration();
+
     private ProductServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new ProductServiceImpl(repo, outboxWriter,
+                new ProductCatalogCache(repo, meterRegistry, 100, 10), searchIndex,
+                new SearchResultCache(catalogGeneration, meterRegistry, true, 100, 30), catalogGeneration);
+    }
+
     @Test
     void create_shouldSave() {
         Product p = new Product();
+        p.setId(1L);
         when(repo.save(any(Product.class))).thenReturn(p);
 
         Product saved = service.create(p);
 
         assertNotNull(saved);
         verify(repo).save(p);
+        verify(searchIndex).indexAfterCommit(p);
     }
 
     @Test
@@ -60,15 +92,61 @@ class ProductServiceTest {
     @Test
     void get_shouldReturnProductWhenNotDeleted() {
         Product p = new Product();
+        p.setId(1L);
         p.setDeleted(false);
         when(repo.findById(1L)).thenReturn(Optional.of(p));
+        when(repo.findStockState(1L)).thenReturn(Optional.of(stock(7, 3L)));
 
         Optional<Product> out = service.get(1L);
 
         assertTrue(out.isPresent());
+        assertEquals(7, out.get().getQuantity());
         verify(repo).findById(1L);
     }
 
+    @Test
+    void get_repeated_shouldServeCatalogFromCacheAndStockFresh() {
+        Product p = new Product();
+        p.setId(1L);
+        p.setName("cached");
+        p.setPrice(new BigDecimal("5.00"));
+        when(repo.findById(1L)).thenReturn(Optional.of(p));
+        when(repo.findStockState(1L)).thenReturn(Optional.of(stock(7, 3L))).thenReturn(Optional.of(stock(6, 4L)));
+
+        service.get(1L);
+        Product out = service.get(1L).orElseThrow();
+
+        assertEquals("cached", out.getName());
+        assertEquals(6, out.getQuantity());
+        assertEquals(4L, out.getVersion());
+        verify(repo, times(1)).findById(1L);
+        verify(repo, times(2)).findStockState(1L);
+    }
+
+    @Test
+    void get_afterUpdate_shouldNotServeStaleCatalogFields() {
+        Product existing = new Product();
+        existing.setId(1L);
+        existing.setName("old");
+        existing.setPrice(new BigDecimal("5.00"));
+        existing.setVersion(3L);
+        when(repo.findById(1L)).thenReturn(Optional.of(existing));
+        when(repo.findStockState(1L)).thenReturn(Optional.of(stock(7, 3L)));
+        when(repo.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        assertEquals("old", service.get(1L).orElseThrow().getName());
+
+        Product patch = new Product();
+        patch.setName("new");
+        patch.setPrice(new BigDecimal("6.00"));
+        patch.setQuantity(7);
+        patch.setVersion(3L);
+        service.update(1L, patch);
+
+        Product out = service.get(1L).orElseThrow();
+        assertEquals("new", out.getName());
+        assertEquals(new BigDecimal("6.00"), out.getPrice());
+    }
+
     @Test
     void search_shouldDelegateToRepository() {
         Page<Product> page = new PageImpl<>(List.of());
@@ -82,11 +160,79 @@ class ProductServiceTest {
         verify(repo).search(eq("p"), eq(new BigDecimal("10")), eq(new BigDecimal("20")), eq(true), any());
     }
 
+    @Test
+    void search_repeated_shouldBeServedFromCacheUntilACatalogWrite() {
+        Page<Product> page = new PageImpl<>(List.of());
+        when(repo.search(eq("desk"), eq(null), eq(null), eq(null), any())).thenReturn(page);
+        Product existing = new Product();
+        existing.setId(1L);
+        when(repo.findById(1L)).thenReturn(Optional.of(existing));
+
+        service.search("desk", null, null, null, PageRequest.of(0, 10));
+        service.search(" DESK ", null, null, null, PageRequest.of(0, 10));
+        verify(repo, times(1)).search(eq("desk"), eq(null), eq(null), eq(null), any());
+
+        long before = catalogGeneration.current();
+        service.softDelete(1L);
+        assertEquals(before + 1, catalogGeneration.current());
+
+        service.search("desk", null, null, null, PageRequest.of(0, 10));
+        verify(repo, times(2)).search(eq("desk"), eq(null), eq(null), eq(null), any());
+    }
+
+    @Test
+    void search_withIndexedName_shouldLoadOnlyTheRequestedPageInIdOrder() {
+        when(searchIndex.canAnswer("phone")).thenReturn(true);
+        when(searchIndex.search("phone", null, null, null)).thenReturn(new long[]{3, 8, 12, 20, 21});
+        Product p12 = new Product();
+        p12.setId(12L);
+        Product p20 = new Product();
+        p20.setId(20L);
+        when(repo.findAllById(List.of(12L, 20L))).thenReturn(List.of(p20, p12));
+
+        Page<Product> out = service.search("phone", null, null, null, PageRequest.of(1, 2));
+
+        assertEquals(5, out.getTotalElements());
+        assertEquals(List.of(12L, 20L), out.getContent().stream().map(Product::getId).toList());
+        verify(repo, never()).search(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void scroll_nextCursor_shouldContinueAfterLastPriceAndId() {
+        ProductFilter filter = new ProductFilter(null, null, null, null, null);
+        Product first = new Product();
+        first.setId(4L);
+        first.setPrice(new BigDecimal("9.50"));
+        Product second = new Product();
+        second.setId(2L);
+        second.setPrice(new BigDecimal("12.00"));
+        when(repo.findPage(filter, ProductSort.PRICE, null, null, 2)).thenReturn(List.of(first, second));
+
+        CursorPage<Product> page = service.scroll(filter, ProductSort.PRICE, null, 1);
+        service.scroll(filter, ProductSort.PRICE, page.getNextCursor(), 1);
+
+        assertEquals(List.of(first), page.getItems());
+        verify(repo).findPage(filter, ProductSort.PRICE, new BigDecimal("9.50"), 4L, 2);
+    }
+
+    @Test
+    void update_withoutVersion_shouldRejectWithoutWriting() {
+        Product patch = new Product();
+        patch.setName("new");
+        patch.setPrice(new BigDecimal("9.99"));
+        patch.setQuantity(5);
+
+        assertThrows(VersionRequiredException.class, () -> service.update(1L, patch));
+        verify(repo, never()).save(any(Product.class));
+        verify(outboxWriter, never()).productUpdated(any());
+    }
+
     @Test
     void update_shouldModifyAndSave() {
         Product existing = new Product();
         existing.setId(1L);
         existing.setName("old");
+        existing.setVersion(0L);
         when(repo.findById(1L)).thenReturn(Optional.of(existing));
         when(repo.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -95,6 +241,7 @@ class ProductServiceTest {
         patch.setDescription("d");
         patch.setPrice(new BigDecimal("9.99"));
         patch.setQuantity(5);
+        patch.setVersion(0L);
 
         Product out = service.update(1L, patch);
 
@@ -103,6 +250,8 @@ class ProductServiceTest {
         assertEquals(new BigDecimal("9.99"), out.getPrice());
         assertEquals(5, out.getQuantity());
         verify(repo).save(existing);
+        verify(outboxWriter).productUpdated(existing);
+        verify(searchIndex).indexAfterCommit(existing);
     }
 
     @Test
@@ -116,5 +265,26 @@ class ProductServiceTest {
 
         assertTrue(existing.isDeleted());
         verify(repo).save(existing);
+        verify(outboxWriter).productDeleted(existing);
+        verify(searchIndex).removeAfterCommit(existing);
+    }
+
+    private static StockState stock(int quantity, Long version) {
+        return new StockState() {
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public Instant getUpdatedAt() {
+                return Instant.EPOCH;
+            }
+        };
     }
 }
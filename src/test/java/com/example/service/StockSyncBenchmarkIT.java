@@ -0,0 +1,92 @@
+package com.example.service;
+
+import com.example.dto.StockAdjustment;
+import com.example.dto.StockSyncResult;
+import com.example.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A warehouse sync of 50,000 SKUs: the per-SKU {@code ProductService.update} path behind
+ * {@code PUT /api/products/{id}}, timed over 1,000 SKUs and extrapolated, against {@link StockSyncService} with
+ * absolute counts where every other SKU changed, then the same sync again with nothing left to change, then
+ * deltas. Run with {@code mvn verify -Dbench=true -Dit.test=StockSyncBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock-sync-bench;DB_CLOSE_DELAY=-1",
+        "app.outbox.relay.enabled=false"
+})
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class StockSyncBenchmarkIT {
+
+    private static final int SKUS = 50_000;
+    private static final int PER_SKU_SAMPLE = 1_000;
+    private static final long FIRST_ID = 10_000_000L;
+
+    @Autowired private ProductService productService;
+    @Autowired private StockSyncService stockSyncService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void syncFiftyThousandSkus() {
+        insertCatalog();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < PER_SKU_SAMPLE; i++) {
+            long id = FIRST_ID + i;
+            Product current = productService.get(id).orElseThrow();
+            Product edit = new Product();
+            edit.setName(current.getName());
+            edit.setDescription(current.getDescription());
+            edit.setPrice(current.getPrice());
+            edit.setQuantity(current.getQuantity() + 1);
+            edit.setVersion(current.getVersion());
+            productService.update(id, edit);
+        }
+        long perSkuMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("per-SKU update skus={} tookMs={} extrapolatedTo{}Ms={}", PER_SKU_SAMPLE, perSkuMs, SKUS,
+                perSkuMs * SKUS / PER_SKU_SAMPLE);
+
+        List<StockAdjustment> counts = new ArrayList<>(SKUS);
+        for (int i = 0; i < SKUS; i++) {
+            // Every other SKU moved since the last sync
+            counts.add(StockAdjustment.absolute(FIRST_ID + i, i % 2 == 0 ? 100 : 50));
+        }
+        report("absolute, half changed", stockSyncService.sync(counts));
+        report("absolute, repeated", stockSyncService.sync(counts));
+
+        List<StockAdjustment> deltas = new ArrayList<>(SKUS);
+        for (int i = 0; i < SKUS; i++) {
+            deltas.add(StockAdjustment.delta(FIRST_ID + i, i % 3 - 1));
+        }
+        report("delta", stockSyncService.sync(deltas));
+    }
+
+    private static void report(String label, StockSyncResult result) {
+        log.info("sync {} skus={} changed={} unchanged={} rejected={} tookMs={}", label, result.getReceived(),
+                result.getChanged(), result.getUnchanged(), result.getRejected(), result.getTookMs());
+    }
+
+    private void insertCatalog() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(SKUS);
+        for (int i = 0; i < SKUS; i++) {
+            String name = "Sku " + i;
+            rows.add(new Object[]{FIRST_ID + i, name, name.toLowerCase(), 1 + i % 500, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, name_normalized, description, price, quantity, "
+                + "available, deleted, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, 'bench', ?, 100, true, false, ?, ?, 0)", rows);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.service.catalog;
+
+import com.example.dto.CursorPage;
+import com.example.entity.Product;
+import com.example.repository.ProductFilter;
+import com.example.repository.ProductRepository;
+import com.example.repository.ProductSort;
+import com.example.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Page 1 against page 10,000 (20 rows per page) over 250k products ordered by price then id: OFFSET with a count
+ * ({@code Page}), OFFSET without a count ({@code Slice}) and the keyset cursor of {@code /api/products/scroll}.
+ * The keyset run walks all pages from the start and reports the first and the last hundred.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=ProductPagingBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:paging-bench;DB_CLOSE_DELAY=-1")
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class ProductPagingBenchmarkIT {
+
+    private static final int PRODUCTS = 250_000;
+    private static final long FIRST_ID = 10_000_000L;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10_000;
+
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private static volatile Object sink;
+
+    @Test
+    void comparePageSliceAndKeyset() {
+        insertCatalog();
+        Sort byPrice = Sort.by("price", "id");
+
+        for (int round = 0; round < 2; round++) {
+            for (int page : new int[]{0, DEEP_PAGE - 1}) {
+                PageRequest request = PageRequest.of(page, PAGE_SIZE, byPrice);
+                run("page  #" + (page + 1), 5, () -> productRepository.search(null, null, null, null, request));
+                run("slice #" + (page + 1), 5,
+                        () -> productRepository.searchSlice(null, null, null, null, request));
+            }
+            walkKeyset();
+        }
+    }
+
+    private void walkKeyset() {
+        ProductFilter all = new ProductFilter(null, null, null, null, null);
+        String cursor = null;
+        long firstHundred = 0;
+        long lastHundred = 0;
+        for (int page = 1; page <= DEEP_PAGE; page++) {
+            long started = System.nanoTime();
+            CursorPage<Product> result = productService.scroll(all, ProductSort.PRICE, cursor, PAGE_SIZE);
+            long nanos = System.nanoTime() - started;
+            if (page <= 100) {
+                firstHundred += nanos;
+            } else if (page > DEEP_PAGE - 100) {
+                lastHundred += nanos;
+            }
+            cursor = result.getNextCursor();
+        }
+        log.info("keyset pages 1-100 avgMs={} pages {}-{} avgMs={}", String.format("%.3f", firstHundred / 1e8),
+                DEEP_PAGE - 99, DEEP_PAGE, String.format("%.3f", lastHundred / 1e8));
+    }
+
+    private void insertCatalog() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < PRODUCTS; i++) {
+            // Prices repeat, so the id tiebreak is exercised on every page
+            batch.add(new Object[]{FIRST_ID + i, "Product " + i, (i * 7919L) % 100_000 / 100.0, now, now});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, quantity, available, "
+                        + "deleted, created_at, updated_at, version) VALUES (?, ?, 'bench', ?, 10, true, false, ?, ?, 0)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static void run(String label, int operations, Supplier<Object> query) {
+        long started = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            sink = query.get();
+        }
+        log.info("{} avgMs={}", label, String.format("%.3f", (System.nanoTime() - started) / 1e6 / operations));
+    }
+}
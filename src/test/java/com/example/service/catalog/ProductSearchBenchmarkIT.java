@@ -0,0 +1,118 @@
+package com.example.service.catalog;
+
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import com.example.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Name search over a catalog of one million products: the {@code LIKE '%name%'} table query against the trigram
+ * index path of {@code ProductServiceImpl}, first page of ten with total count in both cases.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=ProductSearchBenchmarkIT -DargLine=-Xmx3g}.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:search-bench;DB_CLOSE_DELAY=-1")
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class ProductSearchBenchmarkIT {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final long FIRST_ID = 10_000_000L;
+    private static final String[] ADJECTIVES = {"Ergonomic", "Rustic", "Sleek", "Compact", "Heavy", "Vintage",
+            "Modern", "Portable", "Classic", "Smart", "Durable", "Premium", "Basic", "Deluxe", "Mini", "Giant"};
+    private static final String[] MATERIALS = {"Steel", "Oak", "Cotton", "Leather", "Glass", "Plastic", "Granite",
+            "Bronze", "Rubber", "Silk", "Bamboo", "Wool"};
+    private static final String[] NOUNS = {"Chair", "Table", "Lamp", "Keyboard", "Mouse", "Shirt", "Shoes",
+            "Bottle", "Clock", "Wallet", "Backpack", "Speaker", "Blanket", "Mirror", "Kettle", "Pillow", "Bench",
+            "Gloves", "Hat", "Knife", "Bowl", "Helmet", "Jacket", "Towel", "Camera"};
+
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ProductSearchIndex searchIndex;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private static volatile Object sink;
+
+    @Test
+    void compareLikeQueryAndTrigramIndex() {
+        long started = System.nanoTime();
+        insertCatalog();
+        log.info("inserted products={} tookMs={}", PRODUCTS, millisSince(started));
+
+        long heapBefore = usedHeap();
+        started = System.nanoTime();
+        searchIndex.rebuild();
+        log.info("index rebuild tookMs={} heapDeltaMb={}", millisSince(started),
+                (usedHeap() - heapBefore) / (1024 * 1024));
+
+        PageRequest firstPage = PageRequest.of(0, 10);
+        for (String query : new String[]{"chair", "steel chair", "oak lamp 4242", "xyzzy"}) {
+            Page<Product> viaLike = productRepository.search(query, null, null, null, firstPage);
+            Page<Product> viaIndex = productService.search(query, null, null, null, firstPage);
+            if (viaLike.getTotalElements() != viaIndex.getTotalElements()
+                    || !viaLike.getContent().stream().map(Product::getId).toList()
+                    .equals(viaIndex.getContent().stream().map(Product::getId).toList())) {
+                throw new AssertionError("Index and LIKE query disagree for '" + query + "'");
+            }
+            for (int round = 0; round < 2; round++) {
+                run("like  '" + query + "' hits=" + viaLike.getTotalElements(), 5,
+                        () -> productRepository.search(query, null, null, null, firstPage));
+                run("index '" + query + "' hits=" + viaIndex.getTotalElements(), 200,
+                        () -> productService.search(query, null, null, null, firstPage));
+            }
+        }
+    }
+
+    private void insertCatalog() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < PRODUCTS; i++) {
+            String name = ADJECTIVES[i % ADJECTIVES.length] + " " + MATERIALS[(i / 7) % MATERIALS.length] + " "
+                    + NOUNS[(i / 3) % NOUNS.length] + " " + (i % 10_000);
+            batch.add(new Object[]{FIRST_ID + i, name, "bench", 1 + i % 500, 100, i % 5 != 0, now, now});
+            if (batch.size() == 10_000) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+        productRepository.backfillNormalizedNames();
+    }
+
+    private void flush(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, quantity, available, "
+                + "deleted, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, false, ?, ?, 0)", batch);
+        batch.clear();
+    }
+
+    private static void run(String label, int operations, Supplier<Object> search) {
+        long started = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            sink = search.get();
+        }
+        long nanos = System.nanoTime() - started;
+        log.info("{} avgMs={}", label, String.format("%.3f", nanos / 1e6 / operations));
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long millisSince(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
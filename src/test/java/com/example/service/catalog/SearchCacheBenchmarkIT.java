@@ -0,0 +1,174 @@
+package com.example.service.catalog;
+
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import com.example.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays one search trace against {@code GET /api/products}'s service path with the search result cache off and
+ * on, and reports SQL statements executed and the cache hit ratio. The trace draws from 2,000 distinct requests
+ * (name, availability filter, page) with Zipf-distributed popularity and 8 concurrent clients, once with a catalog
+ * edit every 200 requests and once read-only. Statement counts include the edits. Run with {@code mvn verify -Dbench=true -Dit.test=SearchCacheBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-cache-bench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.outbox.relay.enabled=false"
+})
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class SearchCacheBenchmarkIT {
+
+    private static final int PRODUCTS = 50_000;
+    private static final long FIRST_ID = 10_000_000L;
+    private static final int DISTINCT_REQUESTS = 2_000;
+    private static final int REQUESTS = 40_000;
+    private static final int CLIENTS = 8;
+    private static final String[] MATERIALS = {"Steel", "Oak", "Cotton", "Leather", "Glass", "Plastic", "Granite",
+            "Bronze", "Rubber", "Silk"};
+    private static final String[] NOUNS = {"Chair", "Table", "Lamp", "Keyboard", "Mouse", "Shirt", "Shoes",
+            "Bottle", "Clock", "Wallet", "Backpack", "Speaker", "Blanket", "Mirror", "Kettle", "Pillow", "Bench",
+            "Gloves", "Jacket", "Towel"};
+
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ProductSearchIndex searchIndex;
+    @Autowired private SearchResultCache searchCache;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void replayTraceWithAndWithoutCache() throws Exception {
+        insertCatalog();
+        searchIndex.rebuild();
+        int[] trace = zipfTrace(new Random(42));
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm-up, not reported
+        ReflectionTestUtils.setField(searchCache, "enabled", false);
+        replay(trace, 0);
+
+        for (int writeEvery : new int[]{200, 0}) {
+            for (boolean cached : new boolean[]{false, true}) {
+                ReflectionTestUtils.setField(searchCache, "enabled", cached);
+                double hitsBefore = cacheGets("hit");
+                double missesBefore = cacheGets("miss");
+                stats.clear();
+
+                long started = System.nanoTime();
+                replay(trace, writeEvery);
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+                double hits = cacheGets("hit") - hitsBefore;
+                double misses = cacheGets("miss") - missesBefore;
+                log.info("writeEvery={} cache={} requests={} statements={} hitRatio={} tookMs={}", writeEvery,
+                        cached, REQUESTS, stats.getPrepareStatementCount(),
+                        cached ? String.format("%.3f", hits / (hits + misses)) : "-", millis);
+            }
+        }
+    }
+
+    private void replay(int[] trace, int writeEvery) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                running.add(clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < trace.length; i = next.getAndIncrement()) {
+                        if (writeEvery > 0 && i % writeEvery == writeEvery - 1) {
+                            editProduct(FIRST_ID + i % PRODUCTS);
+                        } else {
+                            search(trace[i]);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : running) {
+                f.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private void search(int request) {
+        String name = MATERIALS[request % MATERIALS.length] + " " + NOUNS[(request / 10) % NOUNS.length];
+        Boolean available = (request / 200) % 3 == 0 ? Boolean.TRUE : null;
+        int page = (request / 600) % 4;
+        productService.search(name, null, null, available, PageRequest.of(page, 10));
+    }
+
+    private void editProduct(long id) {
+        Product current = productService.get(id).orElseThrow();
+        Product edit = new Product();
+        edit.setName(current.getName());
+        edit.setDescription(current.getDescription());
+        edit.setPrice(current.getPrice().add(BigDecimal.ONE));
+        edit.setQuantity(current.getQuantity());
+        edit.setVersion(current.getVersion());
+        productService.update(id, edit);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "productSearch").tag("result", result)
+                .functionCounter().count();
+    }
+
+    /**
+     * Request indexes drawn with probability proportional to 1 / rank^1.1.
+     */
+    private static int[] zipfTrace(Random random) {
+        double[] cumulative = new double[DISTINCT_REQUESTS];
+        double sum = 0;
+        for (int rank = 1; rank <= DISTINCT_REQUESTS; rank++) {
+            sum += 1 / Math.pow(rank, 1.1);
+            cumulative[rank - 1] = sum;
+        }
+        int[] trace = new int[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            double u = random.nextDouble() * sum;
+            int at = Arrays.binarySearch(cumulative, u);
+            trace[i] = at >= 0 ? at : -at - 1;
+        }
+        return trace;
+    }
+
+    private void insertCatalog() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            String name = MATERIALS[i % MATERIALS.length] + " " + NOUNS[(i / 10) % NOUNS.length] + " " + i;
+            rows.add(new Object[]{FIRST_ID + i, name, 1 + i % 500, i % 4 != 0, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, quantity, available, "
+                + "deleted, created_at, updated_at, version) VALUES (?, ?, 'bench', ?, 100, ?, false, ?, ?, 0)", rows);
+        productRepository.backfillNormalizedNames();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.service.catalog;
+
+import com.example.entity.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SearchResultCacheTest {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10);
+
+    private final CatalogGeneration generation = new CatalogGeneration();
+    private final SearchResultCache cache =
+            new SearchResultCache(generation, new SimpleMeterRegistry(), true, 100, 60);
+
+    @Test
+    void get_sameParameters_shouldLoadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<Product>> loader = () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of());
+        };
+
+        Page<Product> first = cache.get("lamp", new BigDecimal("10"), null, true, FIRST_PAGE, loader);
+        Page<Product> second = cache.get("LAMP", new BigDecimal("10.00"), null, true, FIRST_PAGE, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_differentPageOrFilter_shouldLoadSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<Product>> loader = () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of());
+        };
+
+        cache.get("lamp", null, null, null, FIRST_PAGE, loader);
+        cache.get("lamp", null, null, null, PageRequest.of(1, 10), loader);
+        cache.get("lamp", null, null, false, FIRST_PAGE, loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_concurrentMisses_shouldShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Page<Product> page = new PageImpl<>(List.of());
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Page<Product>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("lamp", null, null, null, FIRST_PAGE, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return page;
+                })));
+            }
+            // Give every caller time to reach the cache before the one load finishes
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<Page<Product>> result : results) {
+                assertSame(page, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_afterGenerationMoved_shouldLoadAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<Product>> loader = () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of());
+        };
+
+        cache.get("lamp", null, null, null, FIRST_PAGE, loader);
+        generation.advanceAfterCommit();
+        cache.get("lamp", null, null, null, FIRST_PAGE, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_failedLoad_shouldNotBeCached() {
+        assertThatThrownBy(() -> cache.get("lamp", null, null, null, FIRST_PAGE, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+
+        Page<Product> page = new PageImpl<>(List.of());
+        assertSame(page, cache.get("lamp", null, null, null, FIRST_PAGE, () -> page));
+    }
+
+    @Test
+    void get_disabled_shouldAlwaysLoad() {
+        SearchResultCache disabled = new SearchResultCache(generation, new SimpleMeterRegistry(), false, 100, 60);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<Product>> loader = () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of());
+        };
+
+        disabled.get("lamp", null, null, null, FIRST_PAGE, loader);
+        disabled.get("lamp", null, null, null, FIRST_PAGE, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
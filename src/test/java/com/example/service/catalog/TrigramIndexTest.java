@@ -0,0 +1,105 @@
+package com.example.service.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private static final BigDecimal TEN = new BigDecimal("10.00");
+
+    @Test
+    void search_shouldMatchSubstringsIgnoringCaseInIdOrder() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(7, "Wireless Mouse", TEN, true, 0);
+        index.put(2, "Mouse Pad", TEN, true, 0);
+        index.put(5, "Keyboard", TEN, true, 0);
+
+        assertThat(index.search("MOUSE", null, null, null)).containsExactly(2, 7);
+        assertThat(index.search("less mo", null, null, null)).containsExactly(7);
+        assertThat(index.search("board", null, null, null)).containsExactly(5);
+        assertThat(index.search("trackball", null, null, null)).isEmpty();
+    }
+
+    @Test
+    void search_candidatesSharingAllTrigrams_shouldStillBeVerifiedAgainstTheName() {
+        TrigramIndex index = new TrigramIndex();
+        // Contains every trigram of "abcab" ("abc", "bca", "cab") but not the string itself
+        index.put(1, "abcxbcaxcab", TEN, true, 0);
+        index.put(2, "xxabcabxx", TEN, true, 0);
+
+        assertThat(index.search("abcab", null, null, null)).containsExactly(2);
+    }
+
+    @Test
+    void search_shouldApplyPriceAndAvailabilityFilters() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "lamp small", new BigDecimal("5.00"), true, 0);
+        index.put(2, "lamp medium", new BigDecimal("15.00"), false, 0);
+        index.put(3, "lamp large", new BigDecimal("25.00"), true, 0);
+        index.put(4, "lamp unknown", new BigDecimal("15.00"), null, 0);
+
+        assertThat(index.search("lamp", TEN, new BigDecimal("25.00"), null)).containsExactly(2, 3, 4);
+        assertThat(index.search("lamp", null, null, true)).containsExactly(1, 3);
+        assertThat(index.search("lamp", TEN, null, false)).containsExactly(2);
+    }
+
+    @Test
+    void put_rename_shouldDropTheOldTrigrams() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "old name", TEN, true, 0);
+
+        index.put(1, "new name", TEN, true, 1);
+
+        assertThat(index.search("old", null, null, null)).isEmpty();
+        assertThat(index.search("new", null, null, null)).containsExactly(1);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void put_olderVersion_shouldNotOverwriteNewerDocument() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "renamed", TEN, true, 4);
+
+        index.put(1, "original", TEN, true, 2);
+
+        assertThat(index.search("original", null, null, null)).isEmpty();
+        assertThat(index.search("renamed", null, null, null)).containsExactly(1);
+    }
+
+    @Test
+    void remove_shouldLeaveTombstoneThatOlderPutsCannotResurrect() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "gadget", TEN, true, 1);
+
+        index.remove(1, 2);
+        index.put(1, "gadget", TEN, true, 1);
+
+        assertThat(index.search("gadget", null, null, null)).isEmpty();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void search_shortQuery_shouldBeRejected() {
+        assertFalse(TrigramIndex.supports("ab"));
+        assertTrue(TrigramIndex.supports("abc"));
+        assertThatThrownBy(() -> new TrigramIndex().search("ab", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void put_outOfOrderIds_shouldKeepPostingListsSorted() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id : new long[]{50, 10, 40, 20, 30}) {
+            index.put(id, "item " + id, TEN, true, 0);
+        }
+
+        assertThat(index.search("item", null, null, null)).containsExactly(10, 20, 30, 40, 50);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.service.discount;
+
+import com.example.entity.AppUser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledDiscountEvaluatorTest {
+
+    @Test
+    void defaultRules_shouldMatchLegacyFactory() {
+        CompiledDiscountEvaluator evaluator = new CompiledDiscountEvaluator(new DiscountProperties());
+
+        for (Set<String> roles : List.of(Set.of("USER"), Set.of("PREMIUM_USER"), Set.of("ADMIN", "PREMIUM_USER"))) {
+            AppUser user = user(roles);
+            for (String amount : List.of("0.00", "99.99", "500.00", "500.01", "12345.67")) {
+                BigDecimal subtotal = new BigDecimal(amount);
+                BigDecimal expected = DiscountStrategyFactory.getStrategy(user, subtotal).calculate(subtotal, user);
+                assertThat(evaluator.calculate(subtotal, user))
+                        .as("roles=%s subtotal=%s", roles, amount)
+                        .isEqualByComparingTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void noMatchingRule_shouldReturnSharedZero() {
+        CompiledDiscountEvaluator evaluator = new CompiledDiscountEvaluator(new DiscountProperties());
+
+        assertSame(BigDecimal.ZERO, evaluator.calculate(new BigDecimal("100.00"), user(Set.of("USER"))));
+    }
+
+    @Test
+    void stopRule_shouldSkipLaterRules() {
+        DiscountProperties properties = new DiscountProperties();
+        properties.setRules(List.of(
+                rule("staff", "ADMIN", null, "0.30", true),
+                rule("premium", "PREMIUM_USER", null, "0.10", false)));
+        CompiledDiscountEvaluator evaluator = new CompiledDiscountEvaluator(properties);
+
+        assertThat(evaluator.calculate(new BigDecimal("100"), user(Set.of("ADMIN", "PREMIUM_USER"))))
+                .isEqualByComparingTo("30");
+        assertThat(evaluator.calculate(new BigDecimal("100"), user(Set.of("PREMIUM_USER"))))
+                .isEqualByComparingTo("10");
+    }
+
+    @Test
+    void caps_shouldLimitRateAndAmount() {
+        DiscountProperties properties = new DiscountProperties();
+        properties.setMaxRate(new BigDecimal("0.12"));
+        properties.setMaxAmount(new BigDecimal("100"));
+        CompiledDiscountEvaluator evaluator = new CompiledDiscountEvaluator(properties);
+        AppUser premium = user(Set.of("PREMIUM_USER"));
+
+        assertThat(evaluator.calculate(new BigDecimal("600"), premium)).isEqualByComparingTo("72");
+        assertThat(evaluator.calculate(new BigDecimal("5000"), premium)).isEqualByComparingTo("100");
+    }
+
+    @Test
+    void invalidConfiguration_shouldFailFast() {
+        DiscountProperties negative = new DiscountProperties();
+        negative.setRules(List.of(rule("broken", null, null, "-0.10", false)));
+        assertThrows(IllegalStateException.class, () -> new CompiledDiscountEvaluator(negative));
+
+        DiscountProperties tooMany = new DiscountProperties();
+        List<DiscountProperties.Rule> rules = new ArrayList<>();
+        for (int i = 0; i <= CompiledDiscountEvaluator.MAX_RULES; i++) {
+            rules.add(rule("r" + i, null, null, "0.01", false));
+        }
+        tooMany.setRules(rules);
+        assertThrows(IllegalStateException.class, () -> new CompiledDiscountEvaluator(tooMany));
+    }
+
+    private static DiscountProperties.Rule rule(String name, String role, String subtotalAbove, String rate,
+            boolean stop) {
+        DiscountProperties.Rule rule = new DiscountProperties.Rule();
+        rule.setName(name);
+        rule.setRole(role);
+        rule.setSubtotalAbove(subtotalAbove == null ? null : new BigDecimal(subtotalAbove));
+        rule.setRate(new BigDecimal(rate));
+        rule.setStop(stop);
+        return rule;
+    }
+
+    private static AppUser user(Set<String> roles) {
+        AppUser user = new AppUser();
+        user.setRoles(roles);
+        return user;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.service.discount;
+
+import com.example.entity.AppUser;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Time and heap allocation per discount calculation, legacy factory against the compiled evaluator.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=DiscountEvaluatorBenchmarkIT}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class DiscountEvaluatorBenchmarkIT {
+
+    private static final int WARMUP = 2_000_000;
+    private static final int OPERATIONS = 10_000_000;
+
+    // Keeps results reachable so the JIT cannot drop the calls
+    private static volatile BigDecimal sink;
+
+    @Test
+    void compareFactoryAndEvaluator() {
+        CompiledDiscountEvaluator evaluator = new CompiledDiscountEvaluator(new DiscountProperties());
+        AppUser[] users = {user(Set.of("USER")), user(Set.of("PREMIUM_USER"))};
+        BigDecimal[] subtotals = {new BigDecimal("120.00"), new BigDecimal("750.00"), new BigDecimal("499.99")};
+
+        for (int round = 0; round < 3; round++) {
+            run("factory", users, subtotals,
+                    (u, s) -> DiscountStrategyFactory.getStrategy(u, s).calculate(s, u));
+            run("compiled", users, subtotals, (u, s) -> evaluator.calculate(s, u));
+        }
+    }
+
+    private static void run(String label, AppUser[] users, BigDecimal[] subtotals,
+            BiFunction<AppUser, BigDecimal, BigDecimal> discount) {
+        loop(WARMUP, users, subtotals, discount);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        loop(OPERATIONS, users, subtotals, discount);
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        log.info("{}: {} ns/op, {} bytes/op", label,
+                String.format("%.1f", (double) elapsed / OPERATIONS), bytes / OPERATIONS);
+    }
+
+    private static void loop(int operations, AppUser[] users, BigDecimal[] subtotals,
+            BiFunction<AppUser, BigDecimal, BigDecimal> discount) {
+        for (int i = 0; i < operations; i++) {
+            sink = discount.apply(users[i & 1], subtotals[i % subtotals.length]);
+        }
+    }
+
+    private static AppUser user(Set<String> roles) {
+        AppUser user = new AppUser();
+        user.setRoles(roles);
+        return user;
+    }
+}
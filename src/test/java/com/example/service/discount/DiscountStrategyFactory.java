@@ -4,9 +4,13 @@ import com.example.entity.AppUser;
 
 import java.math.BigDecimal;
 
-public class DiscountStrategyFactory {
+/**
+ * The strategy lookup orders used before {@link CompiledDiscountEvaluator}. Reference for its equivalence test and
+ * baseline of its benchmark.
+ */
+class DiscountStrategyFactory {
 
-    public static DiscountStrategy getStrategy(AppUser user, BigDecimal subtotal) {
+    static DiscountStrategy getStrategy(AppUser user, BigDecimal subtotal) {
         DiscountStrategy base = user.getRoles()
                 .contains("PREMIUM_USER") ? new PremiumDiscountStrategy() : new NoDiscountStrategy();
         BigDecimal extra5 = BigDecimal.ZERO;
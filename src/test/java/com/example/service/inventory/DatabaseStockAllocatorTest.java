@@ -0,0 +1,58 @@
+package com.example.service.inventory;
+
+import com.example.exception.InsufficientStockException;
+import com.example.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseStockAllocatorTest {
+
+    @Mock private ProductRepository productRepository;
+
+    @InjectMocks
+    private DatabaseStockAllocator allocator;
+
+    @Test
+    void reserve_allRowsUpdated_shouldPass() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(1L, 2);
+        quantities.put(2L, 1);
+        when(productRepository.decrementStock(quantities)).thenReturn(new int[]{1, 1});
+
+        assertDoesNotThrow(() -> allocator.reserve(quantities));
+    }
+
+    @Test
+    void reserve_conditionalDecrementMisses_shouldNameTheProduct() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(1L, 2);
+        quantities.put(2L, 1);
+        when(productRepository.decrementStock(quantities)).thenReturn(new int[]{1, 0});
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class,
+                () -> allocator.reserve(quantities));
+        assertTrue(ex.getMessage().endsWith(": 2"));
+    }
+
+    @Test
+    void release_shouldIncrementStock() {
+        Map<Long, Integer> quantities = Map.of(1L, 2);
+
+        allocator.release(quantities);
+
+        verify(productRepository).incrementStock(quantities);
+    }
+}
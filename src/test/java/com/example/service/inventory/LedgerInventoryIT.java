@@ -0,0 +1,85 @@
+package com.example.service.inventory;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.Product;
+import com.example.exception.InsufficientStockException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import com.example.service.OrderService;
+import com.example.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "app.inventory.mode=ledger",
+        "app.inventory.ledger.flush-interval-ms=3600000"
+})
+class LedgerInventoryIT {
+
+    @Autowired private OrderService orderService;
+    @Autowired private ReservationService reservationService;
+    @Autowired private StockLedger ledger;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void placeOrder_inLedgerMode_shouldReserveInMemoryAndWriteBehindOnFlush() {
+        AppUser buyer = userRepository.findByUsername("ledger-user").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("ledger-user");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        });
+
+        Product p = new Product();
+        p.setName("LEDGER_SKU");
+        p.setPrice(new BigDecimal("5.00"));
+        p.setQuantity(3);
+        p.setAvailable(true);
+        Long productId = productRepository.save(p).getId();
+
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(productId);
+        item.setQuantity(2);
+
+        orderService.placeOrder(buyer.getUsername(), List.of(item));
+
+        assertEquals(1, ledger.available(productId));
+        assertEquals(3, productRepository.findById(productId).orElseThrow().getQuantity());
+        assertThrows(InsufficientStockException.class,
+                () -> orderService.placeOrder(buyer.getUsername(), List.of(item)));
+
+        ledger.flush();
+
+        assertEquals(1, productRepository.findById(productId).orElseThrow().getQuantity());
+        assertEquals(1, ledger.available(productId));
+    }
+
+    @Test
+    void hold_deletedProduct_inLedgerMode_shouldReportNotFound() {
+        Product p = new Product();
+        p.setName("LEDGER_GONE");
+        p.setPrice(new BigDecimal("5.00"));
+        p.setQuantity(3);
+        p.setAvailable(true);
+        p.setDeleted(true);
+        Long productId = productRepository.save(p).getId();
+
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(productId);
+        item.setQuantity(1);
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.hold("user1", List.of(item)));
+    }
+}
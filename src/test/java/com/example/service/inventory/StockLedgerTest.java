@@ -0,0 +1,157 @@
+package com.example.service.inventory;
+
+import com.example.exception.InsufficientStockException;
+import com.example.repository.ProductRepository;
+import com.example.repository.StockLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    private static final long HOT_ID = 1L;
+    private static final long COLD_ID = 2L;
+
+    @Mock private ProductRepository productRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new StockLedger(productRepository, transactionTemplate, Set.of(HOT_ID), 8);
+    }
+
+    @Test
+    void reserve_multiLineShortage_shouldGiveBackEarlierLines() {
+        when(productRepository.findStockLevels()).thenReturn(List.of(level(HOT_ID, 10), level(COLD_ID, 1)));
+        ledger.rebuild();
+
+        assertThrows(InsufficientStockException.class, () -> ledger.reserve(Map.of(HOT_ID, 4, COLD_ID, 2)));
+
+        assertEquals(10, ledger.available(HOT_ID));
+        assertEquals(1, ledger.available(COLD_ID));
+    }
+
+    @Test
+    void reserveAndRelease_shouldRestoreAvailability() {
+        when(productRepository.findStockLevels()).thenReturn(List.of(level(HOT_ID, 10)));
+        ledger.rebuild();
+
+        ledger.reserve(Map.of(HOT_ID, 7));
+        assertEquals(3, ledger.available(HOT_ID));
+
+        ledger.release(Map.of(HOT_ID, 7));
+        assertEquals(10, ledger.available(HOT_ID));
+    }
+
+    @Test
+    void restore_afterConfirm_shouldCancelThePendingWriteBehind() {
+        when(productRepository.findStockLevels()).thenReturn(List.of(level(HOT_ID, 10)));
+        ledger.rebuild();
+
+        ledger.reserve(Map.of(HOT_ID, 7));
+        ledger.confirm(Map.of(HOT_ID, 7));
+        ledger.restore(Map.of(HOT_ID, 7));
+        ledger.flush();
+
+        assertEquals(10, ledger.available(HOT_ID));
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void concurrentReservations_onStripedHotSku_shouldNeverOversellOrGoNegative() throws Exception {
+        int stock = 10_000;
+        when(productRepository.findStockLevels()).thenReturn(List.of(level(HOT_ID, stock)));
+        ledger.rebuild();
+
+        int threads = 16;
+        AtomicLong sold = new AtomicLong();
+        AtomicBoolean negativeSeen = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = 0; i < 5_000; i++) {
+                    int qty = rnd.nextInt(1, 6);
+                    try {
+                        ledger.reserve(Map.of(HOT_ID, qty));
+                        if (rnd.nextInt(10) == 0) {
+                            ledger.release(Map.of(HOT_ID, qty)); // simulated rollback
+                        } else {
+                            ledger.confirm(Map.of(HOT_ID, qty));
+                            sold.addAndGet(qty);
+                        }
+                    } catch (InsufficientStockException ignored) {
+                        // sold out
+                    }
+                }
+                return null;
+            }));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        futures.add(pool.submit(() -> {
+            start.await();
+            while (!done.get()) {
+                if (ledger.available(HOT_ID) < 0) {
+                    negativeSeen.set(true);
+                }
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (int i = 0; i < threads; i++) {
+            futures.get(i).get(60, TimeUnit.SECONDS);
+        }
+        done.set(true);
+        futures.get(threads).get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertFalse(negativeSeen.get());
+        assertEquals(stock, sold.get() + ledger.available(HOT_ID));
+    }
+
+    private static StockLevel level(Long id, int quantity) {
+        return new StockLevel() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
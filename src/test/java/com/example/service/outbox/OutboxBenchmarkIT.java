@@ -0,0 +1,100 @@
+package com.example.service.outbox;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.Product;
+import com.example.repository.OutboxEventRepository;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import com.example.service.impl.OrderServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extra cost of the outbox insert per placed order and drain rate of the relay into the file sink (fsync per
+ * batch) on the H2 datasource. The relay thread is off, batches are relayed from the test thread.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=OutboxBenchmarkIT}.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        // own database: relays of other cached test contexts would drain this outbox too
+        "spring.datasource.url=jdbc:h2:mem:outbox-bench;DB_CLOSE_DELAY=-1",
+        "app.outbox.sink=file",
+        "app.outbox.file.directory=target/outbox-bench",
+        "app.outbox.relay.enabled=false"
+})
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class OutboxBenchmarkIT {
+
+    private static final int ORDERS = 5_000;
+    private static final int PRODUCTS = 50;
+
+    @Autowired private OrderServiceImpl orderService;
+    @Autowired private OutboxWriter outboxWriter;
+    @Autowired private OutboxRelay relay;
+    @Autowired private OutboxEventRepository outboxRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void measureOrderOverheadAndRelayThroughput() {
+        String username = userRepository.findByUsername("outbox-bench").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("outbox-bench");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        }).getUsername();
+
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product p = new Product();
+            p.setName("OUTBOX_BENCH_" + i);
+            p.setPrice(new BigDecimal("1.00"));
+            p.setQuantity(Integer.MAX_VALUE / 2);
+            p.setAvailable(true);
+            productIds.add(productRepository.save(p).getId());
+        }
+
+        for (int round = 0; round < 4; round++) {
+            // Alternate which variant goes first so warm-up and table growth do not favour one of them
+            boolean outboxFirst = round % 2 == 1;
+            long first = placeOrders(username, productIds, outboxFirst);
+            long second = placeOrders(username, productIds, !outboxFirst);
+            long with = outboxFirst ? first : second;
+            long without = outboxFirst ? second : first;
+            log.info("placeOrder without outbox: {} us/order, with outbox: {} us/order",
+                    without / ORDERS / 1_000, with / ORDERS / 1_000);
+
+            long events = outboxRepository.count();
+            long start = System.nanoTime();
+            while (relay.relayBatch() > 0) {
+                // drain
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            log.info("relay: {} events in {} ms, {} events/s", events, Math.round(seconds * 1_000),
+                    Math.round(events / seconds));
+        }
+    }
+
+    private long placeOrders(String username, List<Long> productIds, boolean outbox) {
+        ReflectionTestUtils.setField(outboxWriter, "enabled", outbox);
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            OrderRequest.Item item = new OrderRequest.Item();
+            item.setProductId(productIds.get(i % PRODUCTS));
+            item.setQuantity(1);
+            orderService.placeOrder(username, List.of(item));
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.service.outbox;
+
+import com.example.dto.OrderRequest;
+import com.example.entity.AppUser;
+import com.example.entity.OutboxEvent;
+import com.example.entity.Product;
+import com.example.repository.OutboxEventRepository;
+import com.example.repository.ProductRepository;
+import com.example.repository.UserRepository;
+import com.example.service.OrderService;
+import com.example.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        // own database: relays of other cached test contexts would drain this outbox too
+        "spring.datasource.url=jdbc:h2:mem:outbox-it;DB_CLOSE_DELAY=-1",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.enabled=false"
+})
+class OutboxIT {
+
+    @Autowired private OrderService orderService;
+    @Autowired private ProductService productService;
+    @Autowired private OutboxRelay relay;
+    @Autowired private InMemoryOutboxSink sink;
+    @Autowired private OutboxEventRepository outboxRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByUsername("outbox-user").orElseGet(() -> {
+            AppUser u = new AppUser();
+            u.setUsername("outbox-user");
+            u.setPassword("n/a");
+            u.setRoles(Set.of("USER"));
+            return userRepository.save(u);
+        });
+        Product p = new Product();
+        p.setName("OUTBOX_PRODUCT");
+        p.setPrice(new BigDecimal("10.00"));
+        p.setQuantity(10);
+        p.setAvailable(true);
+        product = productRepository.save(p);
+        drain();
+    }
+
+    @Test
+    void changes_shouldBeRelayedInCommitOrder() throws Exception {
+        long before = sink.publishedCount();
+
+        Long orderId = orderService.placeOrder("outbox-user", List.of(item(product.getId(), 2))).getId();
+        Product patch = new Product();
+        patch.setName("OUTBOX_PRODUCT");
+        patch.setPrice(new BigDecimal("12.00"));
+        patch.setQuantity(20);
+        patch.setVersion(productRepository.findById(product.getId()).orElseThrow().getVersion());
+        productService.update(product.getId(), patch);
+        productService.softDelete(product.getId());
+
+        drain();
+
+        assertEquals(3, sink.publishedCount() - before);
+        List<OutboxEvent> events = sink.events().subList(sink.events().size() - 3, sink.events().size());
+        assertThat(events).extracting(OutboxEvent::getEventType).containsExactly(
+                OutboxWriter.ORDER_PLACED, OutboxWriter.PRODUCT_UPDATED, OutboxWriter.PRODUCT_DELETED);
+
+        JsonNode placed = objectMapper.readTree(events.get(0).getPayload());
+        assertEquals(orderId.longValue(), placed.get("orderId").asLong());
+        assertEquals(2, placed.get("items").get(0).get("quantity").asInt());
+        assertEquals(20, objectMapper.readTree(events.get(1).getPayload()).get("quantity").asInt());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void rolledBackOrder_shouldNotLeaveAnEvent() {
+        assertThrows(RuntimeException.class,
+                () -> orderService.placeOrder("outbox-user", List.of(item(product.getId(), 11))));
+
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void claimBatch_shouldSkipRowsLockedByAnotherRelay() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            orderService.placeOrder("outbox-user", List.of(item(product.getId(), 1)));
+        }
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(s -> {
+            List<Long> ids = ids(outboxRepository.claimBatch(2));
+            claimed.countDown();
+            await(release);
+            return ids;
+        }));
+        assertTrue(claimed.await(10, TimeUnit.SECONDS));
+
+        List<Long> second = transactionTemplate.execute(s -> ids(outboxRepository.claimBatch(10)));
+        release.countDown();
+
+        assertEquals(2, first.get(10, TimeUnit.SECONDS).size());
+        assertEquals(2, second.size());
+        assertThat(second).doesNotContainAnyElementsOf(first.get());
+    }
+
+    private void drain() {
+        while (relay.relayBatch() > 0) {
+            // keep going until the outbox is empty
+        }
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OrderRequest.Item item(Long productId, int quantity) {
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
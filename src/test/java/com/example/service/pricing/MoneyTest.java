@@ -0,0 +1,71 @@
+package com.example.service.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Test
+    void allocate_shouldGiveLeftoverToLargestRemainders() {
+        Money discount = Money.ofMinor(1000, USD);
+
+        // 1000 * (3333, 3333, 3334) / 10000 = 333.3, 333.3, 333.4 -> one leftover cent for the last share
+        assertArrayEquals(new long[]{333, 333, 334}, discount.allocate(new long[]{3333, 3333, 3334}));
+    }
+
+    @Test
+    void allocate_tiedRemainders_shouldFavourEarlierShares() {
+        assertArrayEquals(new long[]{34, 33, 33}, Money.ofMinor(100, USD).allocate(new long[]{1, 1, 1}));
+    }
+
+    @Test
+    void allocate_sharesShouldAlwaysAddUp() {
+        long[] weights = {1999, 1, 250_000, 7, 7, 7, 123_456_789};
+        for (long amount = 0; amount < 5_000; amount += 37) {
+            long sum = 0;
+            for (long share : Money.ofMinor(amount, USD).allocate(weights)) {
+                sum += share;
+            }
+            assertEquals(amount, sum);
+        }
+    }
+
+    @Test
+    void allocate_overflowingProducts_shouldFallBackToExactMath() {
+        long big = Long.MAX_VALUE / 4;
+        long[] shares = Money.ofMinor(big, USD).allocate(new long[]{big, big});
+
+        assertEquals(big, shares[0] + shares[1]);
+        assertEquals(1, Math.abs(shares[0] - shares[1]) <= 1 ? 1 : 0);
+    }
+
+    @Test
+    void allocate_zeroAmount_shouldReturnZeros() {
+        assertArrayEquals(new long[]{0, 0}, Money.zero(USD).allocate(new long[]{0, 0}));
+    }
+
+    @Test
+    void of_shouldRejectSubCentAmountsUnlessRounded() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1.005"), USD));
+        assertEquals(101, Money.of(new BigDecimal("1.005"), USD, RoundingMode.HALF_UP).minorUnits());
+        assertEquals(new BigDecimal("1.00"), Money.of(new BigDecimal("1"), USD).toBigDecimal());
+    }
+
+    @Test
+    void arithmetic_shouldRejectMixedCurrencies() {
+        Money usd = Money.ofMinor(100, USD);
+        Money eur = Money.ofMinor(100, Currency.getInstance("EUR"));
+
+        assertThrows(IllegalArgumentException.class, () -> usd.plus(eur));
+        assertEquals(Money.ofMinor(250, USD), usd.times(3).minus(Money.ofMinor(50, USD)));
+    }
+}
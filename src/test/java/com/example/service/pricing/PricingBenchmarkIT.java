@@ -0,0 +1,99 @@
+package com.example.service.pricing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.function.Supplier;
+
+/**
+ * Time and heap allocation of pricing one cart: the previous BigDecimal arithmetic against the long minor-unit
+ * path {@code OrderServiceImpl} now uses. Both produce the entity-boundary BigDecimals of the result.
+ * Run with {@code mvn verify -Dbench=true -Dit.test=PricingBenchmarkIT}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class PricingBenchmarkIT {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final BigDecimal RATE = new BigDecimal("0.15");
+    private static final int WARMUP = 50_000;
+    private static final int OPERATIONS = 200_000;
+
+    private static volatile Object sink;
+
+    @Test
+    void compareBigDecimalAndMoney() {
+        for (int lines : new int[]{5, 50}) {
+            BigDecimal[] prices = new BigDecimal[lines];
+            int[] quantities = new int[lines];
+            for (int i = 0; i < lines; i++) {
+                prices[i] = BigDecimal.valueOf(999 + i * 137L, 2);
+                quantities[i] = 1 + i % 4;
+            }
+            for (int round = 0; round < 3; round++) {
+                run("bigdecimal lines=" + lines, () -> priceWithBigDecimal(prices, quantities));
+                run("money      lines=" + lines, () -> priceWithMoney(prices, quantities));
+            }
+        }
+    }
+
+    // The arithmetic OrderServiceImpl did before the Money type
+    @SuppressWarnings("deprecation")
+    private static BigDecimal[] priceWithBigDecimal(BigDecimal[] prices, int[] quantities) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < prices.length; i++) {
+            subtotal = subtotal.add(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        BigDecimal discount = subtotal.multiply(RATE);
+        BigDecimal[] out = new BigDecimal[prices.length * 2 + 1];
+        for (int i = 0; i < prices.length; i++) {
+            BigDecimal line = prices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            BigDecimal lineDiscount = line.multiply(discount).divide(subtotal, 2, BigDecimal.ROUND_HALF_UP);
+            out[i * 2] = lineDiscount;
+            out[i * 2 + 1] = line.subtract(lineDiscount);
+        }
+        out[out.length - 1] = subtotal.subtract(discount);
+        return out;
+    }
+
+    private static BigDecimal[] priceWithMoney(BigDecimal[] prices, int[] quantities) {
+        long[] lineTotals = new long[prices.length];
+        long subtotal = 0;
+        for (int i = 0; i < prices.length; i++) {
+            lineTotals[i] = Math.multiplyExact(Money.toMinorUnits(prices[i], USD), quantities[i]);
+            subtotal = Math.addExact(subtotal, lineTotals[i]);
+        }
+        Money sub = Money.ofMinor(subtotal, USD);
+        Money discount = Money.of(sub.toBigDecimal().multiply(RATE), USD, RoundingMode.HALF_UP);
+        long[] lineDiscounts = discount.allocate(lineTotals);
+        BigDecimal[] out = new BigDecimal[prices.length * 2 + 1];
+        for (int i = 0; i < prices.length; i++) {
+            out[i * 2] = Money.toBigDecimal(lineDiscounts[i], USD);
+            out[i * 2 + 1] = Money.toBigDecimal(lineTotals[i] - lineDiscounts[i], USD);
+        }
+        out[out.length - 1] = sub.minus(discount).toBigDecimal();
+        return out;
+    }
+
+    private static void run(String label, Supplier<Object> pricing) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink = pricing.get();
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink = pricing.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        log.info("{}: {} ns/cart, {} bytes/cart", label, elapsed / OPERATIONS, bytes / OPERATIONS);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.service.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_shouldReturnIdsOnlyOnceTheirDeadlinePassed() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, START);
+        wheel.schedule(1, START + 250);
+        wheel.schedule(2, START + 300);
+
+        assertTrue(wheel.advance(START + 200).isEmpty());
+        assertTrue(wheel.advance(START + 299).isEmpty());
+        assertThat(wheel.advance(START + 300)).containsExactlyInAnyOrder(1L, 2L);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_deadlineBeyondOneRotation_shouldWaitForItsRound() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, START);
+        // Same bucket as START + 100, three rotations later
+        wheel.schedule(7, START + 100 + 3 * 800);
+
+        for (long now = START + 100; now < START + 100 + 3 * 800; now += 100) {
+            assertTrue(wheel.advance(now).isEmpty(), "fired early at " + now);
+        }
+        assertEquals(List.of(7L), wheel.advance(START + 100 + 3 * 800));
+    }
+
+    @Test
+    void advance_pastDeadline_shouldFireOnNextTick() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, START);
+        wheel.advance(START + 1_000);
+        wheel.schedule(3, START - 60_000);
+
+        assertEquals(List.of(3L), wheel.advance(START + 1_100));
+    }
+
+    @Test
+    void advance_jumpLongerThanRotation_shouldVisitEveryBucket() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, START);
+        for (long id = 0; id < 20; id++) {
+            wheel.schedule(id, START + 100 + id * 150);
+        }
+        wheel.schedule(99, START + 10_000);
+
+        assertThat(wheel.advance(START + 5_000)).hasSize(20);
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(99L), wheel.advance(START + 10_000));
+    }
+}